@@ -0,0 +1,138 @@
+package nahye.demo.booking;
+
+import nahye.demo.dto.reservation.ReservationSlot;
+import nahye.demo.entity.Reservation;
+import nahye.demo.entity.Room;
+import nahye.demo.repository.ReservationRepository;
+import nahye.demo.repository.RoomRepository;
+import nahye.demo.support.Stubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 좌석 겹침 검사 비용.
+ * 예약 엔티티 목록을 훑는 방식(인덱스 도입 전)과 SeatOccupancyIndex(TreeMap),
+ * SeatAvailabilityIndex(15분 슬롯 비트맵)를 같은 데이터로 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatConflictBenchmark {
+
+    private static final long ROOM_ID = 1L;
+    private static final int SEATS = 40;
+    private static final int SEAT_NUM = 17;
+
+    // 좌석마다 1시간 예약을 1시간 간격으로 배치 (0-1시, 2-3시, ...)
+    @Param({"4", "32"})
+    int reservationsPerSeat;
+
+    private final LocalDate day = LocalDate.of(2026, 3, 2);
+    private final LocalDateTime queryStart = day.atTime(11, 0); // 빈 시간대
+    private final LocalDateTime queryEnd = day.atTime(12, 0);
+
+    private List<Reservation> reservations;
+    private SeatOccupancyIndex occupancyIndex;
+    private SeatAvailabilityIndex availabilityIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Room room = Room.builder().id(ROOM_ID).roomName("실습실").seats(SEATS).remainingSeats(SEATS).roomImg("").build();
+        reservations = new ArrayList<>();
+        List<ReservationSlot> slots = new ArrayList<>();
+        occupancyIndex = new SeatOccupancyIndex();
+
+        long id = 1;
+        for (int seat = 1; seat <= SEATS; seat++) {
+            for (int k = 0; k < reservationsPerSeat; k++) {
+                LocalDateTime start = day.atStartOfDay().plusHours(2L * k);
+                LocalDateTime end = start.plusHours(1);
+                reservations.add(Reservation.builder()
+                        .id(id).seatNum(seat).startTime(start).endTime(end)
+                        .duration(LocalTime.of(1, 0)).room(room)
+                        .build());
+                slots.add(new ReservationSlot(id++, ROOM_ID, seat, start, end));
+                occupancyIndex.claim(ROOM_ID, SEATS, seat, start, end);
+            }
+        }
+
+        ReservationRepository reservationRepository = Stubs.of(ReservationRepository.class,
+                Map.of("findRoomSlotsOverlapping", args -> overlapping(slots,
+                        (LocalDateTime) args[1], (LocalDateTime) args[2])));
+        RoomRepository roomRepository = Stubs.of(RoomRepository.class,
+                Map.of("findById", args -> Optional.of(room)));
+        availabilityIndex = new SeatAvailabilityIndex(reservationRepository, roomRepository, 60);
+        availabilityIndex.freeSeats(ROOM_ID, day, 0, 1); // 격자 적재
+    }
+
+    // 인덱스 도입 전: 실습실 예약을 모두 훑어 같은 좌석의 겹침 확인
+    @Benchmark
+    public boolean seatFreeByScan() {
+        for (Reservation reservation : reservations) {
+            if (reservation.getSeatNum() == SEAT_NUM
+                    && reservation.getStartTime().isBefore(queryEnd)
+                    && reservation.getEndTime().isAfter(queryStart)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean seatFreeByOccupancyIndex() {
+        return occupancyIndex.isFree(ROOM_ID, SEATS, SEAT_NUM, queryStart, queryEnd);
+    }
+
+    // 실습실 전체 빈 좌석 (좌석 선택 화면)
+    @Benchmark
+    public List<Integer> freeSeatsByScan() {
+        boolean[] taken = new boolean[SEATS + 1];
+        for (Reservation reservation : reservations) {
+            if (reservation.getStartTime().isBefore(queryEnd) && reservation.getEndTime().isAfter(queryStart)) {
+                taken[reservation.getSeatNum()] = true;
+            }
+        }
+        List<Integer> free = new ArrayList<>();
+        for (int seat = 1; seat <= SEATS; seat++) {
+            if (!taken[seat]) {
+                free.add(seat);
+            }
+        }
+        return free;
+    }
+
+    @Benchmark
+    public List<Integer> freeSeatsByBitmap() {
+        return availabilityIndex.freeSeats(ROOM_ID, day,
+                queryStart.getHour() * 60 / SeatAvailabilityIndex.SLOT_MINUTES,
+                queryEnd.getHour() * 60 / SeatAvailabilityIndex.SLOT_MINUTES);
+    }
+
+    private static List<ReservationSlot> overlapping(List<ReservationSlot> slots, LocalDateTime from, LocalDateTime to) {
+        return slots.stream()
+                .filter(slot -> slot.getStartTime().isBefore(to) && slot.getEndTime().isAfter(from))
+                .toList();
+    }
+}
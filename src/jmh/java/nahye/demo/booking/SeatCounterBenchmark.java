@@ -0,0 +1,250 @@
+package nahye.demo.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nahye.demo.config.ReservationMetrics;
+import nahye.demo.entity.Room;
+import nahye.demo.repository.RoomRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 한 실습실에 예약이 몰릴 때 남은 좌석 감소 방식(sejali.booking.seat-counter)별 처리량과 실패율.
+ * JPA 만 올린 컨텍스트에서 운영과 같은 조건으로 SeatCounter 빈을 고르고, 스레드마다 예약 트랜잭션을 열어
+ * 감소 -> 나머지 예약 처리(inTxWork 만큼 CPU 사용) -> 커밋 순서로 실행합니다.
+ * 기본 DB 는 H2(MySQL 모드)이며 -Dbench.jdbc-url=jdbc:mysql://... (bench.jdbc-user, bench.jdbc-password) 로 바꿀 수 있습니다.
+ * 커넥션 풀은 동시 예약 트랜잭션 수 + 1 입니다. optimistic 의 감소 트랜잭션과 queued 의 쓰기 스레드는 남은 한 개를 나눠 쓰므로
+ * 그 대기 시간도 결과에 포함됩니다. -Dbench.pool-size 로 운영 풀 크기를 주면 풀이 동시 요청보다 작을 때의 동작
+ * (optimistic 은 커넥션 대기 시간 초과, queued 는 기다림 상한을 넘겨 503)을 확인할 수 있습니다.
+ *
+ * contended: 좌석이 떨어지지 않는 실습실 하나에 32 스레드가 계속 감소 (처리량, claimed/gaveUp 보조 카운터)
+ * labRush: 40석 실습실에 학생 2000명이 32 스레드로 한꺼번에 시도하는 한 라운드 시간.
+ *          초과 예약이 생기면 실패하고, 라운드 평균 결과(좌석이 남았는데 포기한 수 포함)를 마지막에 출력합니다.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class SeatCounterBenchmark {
+
+    private static final int LAB_SEATS = 40;
+    private static final int STUDENTS = 2000;
+    private static final int CLIENTS = 32;
+
+    @Param({"atomic", "optimistic", "pessimistic", "queued"})
+    String strategy;
+
+    // 감소 이후 커밋 전까지 예약 트랜잭션이 하는 나머지 일 (행 잠금을 잡고 있는 시간)
+    @Param({"0", "20000"})
+    long inTxWork;
+
+    private ConfigurableApplicationContext context;
+    private SeatCounter seatCounter;
+    private RoomRepository roomRepository;
+    private TransactionTemplate transactionTemplate;
+    private MeterRegistry meterRegistry;
+    private ExecutorService students;
+    private Long hotRoomId;
+    private Long labRoomId;
+
+    private final AtomicInteger rounds = new AtomicInteger();
+    private final AtomicInteger roundClaimed = new AtomicInteger();
+    private final AtomicInteger roundFull = new AtomicInteger();
+    private final AtomicInteger roundGaveUp = new AtomicInteger();
+    private final AtomicInteger roundGaveUpWithSeatsLeft = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", System.getProperty("bench.jdbc-url",
+                "jdbc:h2:mem:seat-counter;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"));
+        properties.put("spring.datasource.username", System.getProperty("bench.jdbc-user", "sa"));
+        properties.put("spring.datasource.password", System.getProperty("bench.jdbc-password", ""));
+        // 스레드마다 예약 트랜잭션이 커넥션 하나를 잡고, optimistic/queued 의 감소 트랜잭션이 쓸 여분은 하나
+        properties.put("spring.datasource.hikari.maximum-pool-size", System.getProperty("bench.pool-size", String.valueOf(CLIENTS + 1)));
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("sejali.booking.seat-counter", strategy);
+        properties.put("logging.level.root", "WARN");
+
+        context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+        seatCounter = context.getBean(SeatCounter.class);
+        roomRepository = context.getBean(RoomRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        meterRegistry = context.getBean(MeterRegistry.class);
+        students = Executors.newFixedThreadPool(CLIENTS);
+
+        hotRoomId = roomRepository.save(Room.builder().roomName("hot-" + strategy).seats(Integer.MAX_VALUE)
+                .remainingSeats(Integer.MAX_VALUE).roomImg("img").build()).getId();
+        labRoomId = roomRepository.save(Room.builder().roomName("lab-" + strategy).seats(LAB_SEATS)
+                .remainingSeats(LAB_SEATS).roomImg("img").build()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double retries = meterRegistry.find("sejali.reservation.counter.conflict").tag("outcome", "retried")
+                .counters().stream().mapToDouble(Counter::count).sum();
+        int n = rounds.get();
+        if (n > 0) {
+            System.out.printf("%n[%s, inTxWork=%d] 라운드 %d회 평균: 성공 %.1f, 만석 %.1f, 포기 %.1f (좌석 남은 채 포기 %.1f), 낙관적 재시도 누계 %.0f%n",
+                    strategy, inTxWork, n, (double) roundClaimed.get() / n, (double) roundFull.get() / n,
+                    (double) roundGaveUp.get() / n, (double) roundGaveUpWithSeatsLeft.get() / n, retries);
+        }
+        students.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(CLIENTS)
+    public void contended(Outcomes outcomes) {
+        switch (attempt(hotRoomId)) {
+            case CLAIMED -> outcomes.claimed++;
+            case FULL -> outcomes.full++;
+            case GAVE_UP -> outcomes.gaveUp++;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    @Threads(1)
+    public int labRush() throws Exception {
+        roomRepository.updateRemainingSeats(labRoomId, LAB_SEATS);
+
+        List<Future<Outcome>> results = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            results.add(students.submit(() -> attempt(labRoomId)));
+        }
+        int claimed = 0;
+        int full = 0;
+        int gaveUp = 0;
+        for (Future<Outcome> result : results) {
+            switch (result.get()) {
+                case CLAIMED -> claimed++;
+                case FULL -> full++;
+                case GAVE_UP -> gaveUp++;
+            }
+        }
+        int remaining = settledRemainingSeats(claimed);
+        if (claimed > LAB_SEATS || claimed + remaining != LAB_SEATS) {
+            throw new IllegalStateException("좌석 수 불일치: 성공 " + claimed + ", 남은 좌석 " + remaining);
+        }
+
+        rounds.incrementAndGet();
+        roundClaimed.addAndGet(claimed);
+        roundFull.addAndGet(full);
+        roundGaveUp.addAndGet(gaveUp);
+        if (remaining > 0) {
+            roundGaveUpWithSeatsLeft.addAndGet(gaveUp);
+        }
+        return claimed;
+    }
+
+    // 기다리다 포기한 queued 요청의 감소는 커밋된 뒤 비동기로 되돌려지므로 잠시 맞춰질 때까지 확인
+    private int settledRemainingSeats(int claimed) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        int remaining = roomRepository.findById(labRoomId).orElseThrow().getRemainingSeats();
+        while (claimed + remaining != LAB_SEATS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            remaining = roomRepository.findById(labRoomId).orElseThrow().getRemainingSeats();
+        }
+        return remaining;
+    }
+
+    private Outcome attempt(Long roomId) {
+        try {
+            Boolean claimed = transactionTemplate.execute(status -> {
+                boolean decremented = seatCounter.tryDecrement(roomId, 1);
+                if (decremented && inTxWork > 0) {
+                    Blackhole.consumeCPU(inTxWork);
+                }
+                return decremented;
+            });
+            return Boolean.TRUE.equals(claimed) ? Outcome.CLAIMED : Outcome.FULL;
+        } catch (IllegalStateException | RejectedExecutionException | CannotCreateTransactionException e) {
+            // CannotCreateTransactionException: 풀이 동시 요청보다 작아 감소 트랜잭션이 커넥션을 얻지 못함 (bench.pool-size)
+            return Outcome.GAVE_UP;
+        }
+    }
+
+    private enum Outcome { CLAIMED, FULL, GAVE_UP }
+
+    // 스레드별 결과 수. JMH 결과에 초당 claimed/full/gaveUp 로 함께 기록됨
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long claimed;
+        public long full;
+        public long gaveUp;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            claimed = 0;
+            full = 0;
+            gaveUp = 0;
+        }
+    }
+
+    // 운영과 같은 @ConditionalOnProperty 로 SeatCounter 하나만 등록됨
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Room.class)
+    @EnableJpaRepositories(basePackageClasses = RoomRepository.class)
+    @Import({AtomicSeatCounter.class, OptimisticSeatCounter.class, PessimisticSeatCounter.class,
+            QueuedSeatCounter.class, ReservationMetrics.class})
+    static class BenchmarkConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package nahye.demo.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import nahye.demo.enums.AuthLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 요청 하나가 JWT 필터를 통과하는 비용 (헤더 파싱 -> 검증 -> 블랙리스트/not-before -> SecurityContext -> 타이머 기록)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String USER_ID = "20240001";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String bearerToken;
+    private String legacyBearerToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TokenBlacklist blacklist = new TokenBlacklist(null, null, 100_000);
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(JwtTokenProviderBenchmark.SECRET, 10_000, blacklist,
+                new SessionRevocation(null, null));
+
+        // 권한 클레임이 없는 이전 토큰은 UserDetailsService 를 거침
+        UserDetailsService userDetailsService = username -> User.withUsername(username)
+                .password("{noop}unused")
+                .authorities(AuthLevel.USER.name())
+                .build();
+
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, new SimpleMeterRegistry());
+        bearerToken = "Bearer " + tokenProvider.createAccessToken(USER_ID, AuthLevel.USER);
+        // 권한 클레임 도입 전 형식의 AT (subject/jti/iat/exp 만)
+        Date now = new Date();
+        legacyBearerToken = "Bearer " + Jwts.builder()
+                .setSubject(USER_ID)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + JwtTokenProvider.ACCESS_TOKEN_VALIDITY))
+                .signWith(Keys.hmacShaKeyFor(JwtTokenProviderBenchmark.SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Object authenticated() throws Exception {
+        return run(bearerToken);
+    }
+
+    @Benchmark
+    public Object legacyToken() throws Exception {
+        return run(legacyBearerToken);
+    }
+
+    @Benchmark
+    public Object anonymous() throws Exception {
+        return run(null);
+    }
+
+    private Object run(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/room");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
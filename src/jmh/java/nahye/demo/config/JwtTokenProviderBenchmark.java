@@ -0,0 +1,69 @@
+package nahye.demo.config;
+
+import nahye.demo.enums.AuthLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 토큰 발급/검증 비용. verifiedCacheSize=0 은 검증 캐시 없이 매번 서명을 확인하는 경우
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    @Param({"0", "10000"})
+    long verifiedCacheSize;
+
+    private JwtTokenProvider tokenProvider;
+    private String accessToken;
+    private String forgedToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 무효화된 토큰이 없으면 블룸 필터와 not-before 사본에서 끝나므로 Redis 연결 불필요
+        TokenBlacklist blacklist = new TokenBlacklist(null, null, 100_000);
+        SessionRevocation sessionRevocation = new SessionRevocation(null, null);
+        tokenProvider = new JwtTokenProvider(SECRET, verifiedCacheSize, blacklist, sessionRevocation);
+        accessToken = tokenProvider.createAccessToken("20240001", AuthLevel.USER);
+
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.replace('0', '1'), 0, blacklist, sessionRevocation);
+        forgedToken = other.createAccessToken("20240001", AuthLevel.USER);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return tokenProvider.createAccessToken("20240001", AuthLevel.USER);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public String getUsername() {
+        return tokenProvider.getUsername(accessToken);
+    }
+
+    // 서명이 다른 토큰은 캐시에 들어가지 않으므로 항상 파싱 비용을 치름
+    @Benchmark
+    public boolean rejectForgedToken() {
+        return tokenProvider.validateToken(forgedToken);
+    }
+}
@@ -0,0 +1,52 @@
+package nahye.demo.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// cost 별 로그인(비밀번호 검증) 처리량. sejali.security.bcrypt-strength 값을 고를 때 참고
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"8", "10", "12"})
+    int cost;
+
+    private BoundedPasswordEncoder encoder;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        encoder = new BoundedPasswordEncoder(cost, threads, 1024);
+        hash = encoder.encode("password1234");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoder.destroy();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean login() {
+        return encoder.matches("password1234", hash);
+    }
+}
@@ -0,0 +1,98 @@
+package nahye.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nahye.demo.dto.room.RoomGetResponse;
+import nahye.demo.entity.Room;
+import nahye.demo.repository.RoomRepository;
+import nahye.demo.support.Stubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// GET /room 응답 생성 비용: 엔티티 -> DTO 변환, JSON 직렬화, 스냅샷 재사용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomListBenchmark {
+
+    @Param({"20", "200"})
+    int roomCount;
+
+    private List<Room> rooms;
+    private RoomService roomService;
+    private RoomListSnapshot snapshot;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rooms = new ArrayList<>(roomCount);
+        List<RoomGetResponse> summaries = new ArrayList<>(roomCount);
+        for (long id = 1; id <= roomCount; id++) {
+            Room room = Room.builder()
+                    .id(id)
+                    .roomName("실습실 " + id)
+                    .seats(40)
+                    .remainingSeats((int) (id % 40))
+                    .roomImg("https://cdn.example.com/rooms/" + id + ".jpg")
+                    .build();
+            rooms.add(room);
+            summaries.add(toSummary(room));
+        }
+
+        // 목록 조회는 DB 에서 바로 DTO 로 만들어지므로 저장소 스텁이 완성된 목록을 돌려줌
+        RoomRepository roomRepository = Stubs.of(RoomRepository.class,
+                Map.of("findAllSummaries", args -> summaries));
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        roomService = new RoomService(roomRepository, null, null, null, null, null);
+        snapshot = new RoomListSnapshot(roomService, objectMapper, Long.MAX_VALUE);
+        snapshot.current();
+    }
+
+    @Benchmark
+    public List<RoomGetResponse> mapEntities() {
+        List<RoomGetResponse> responses = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            responses.add(toSummary(room));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(roomService.getAllRooms());
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(mapEntities());
+    }
+
+    // 변경이 없으면 매 요청은 이미 만든 바이트를 그대로 사용
+    @Benchmark
+    public byte[] snapshotHit() {
+        return snapshot.current().body();
+    }
+
+    private static RoomGetResponse toSummary(Room room) {
+        return new RoomGetResponse(room.getId(), room.getRoomName(), room.getSeats(),
+                room.getRemainingSeats(), room.getRoomImg());
+    }
+}
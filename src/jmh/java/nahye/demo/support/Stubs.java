@@ -0,0 +1,33 @@
+package nahye.demo.support;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 벤치마크용 저장소 스텁. 스프링 컨텍스트/DB 없이 측정 대상만 만들기 위해
+ * 인터페이스의 지정한 메서드만 응답하고 나머지는 UnsupportedOperationException.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    public static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,371 @@
+package nahye.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.fppt.jedismock.RedisServer;
+import nahye.demo.SejaliApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+/**
+ * 학기 초 예약 폭주 재현 (./gradlew loadTest).
+ * 앱을 H2(MySQL 모드) + 프로세스 내 Redis(jedis-mock) 로 띄우고 HTTP 로
+ * 회원가입 -> 로그인 폭주 -> 좌석 경쟁(동시에 /room 폴링) 순서로 부하를 준 뒤,
+ * 시나리오별 처리량과 p50/p99/p999 지연을 출력하고 이중 예약이 없는지 DB 에서 확인합니다.
+ * 이중 예약이 발견되면 종료 코드 1.
+ *
+ * 설정 (시스템 속성, Gradle 에서는 -Ploadtest.users=2000 처럼 전달):
+ * loadtest.users, loadtest.rooms, loadtest.seats, loadtest.concurrency, loadtest.polls,
+ * loadtest.attempts, loadtest.claim-store(local|redis),
+ * loadtest.seat-counter(atomic|optimistic|pessimistic|queued), loadtest.bcrypt-strength, loadtest.rate-limit, loadtest.report
+ */
+public final class BookingRushLoadTest {
+
+    private static final String PASSWORD = "password1234";
+    private static final String ADMIN_ID = "loadtest-admin";
+
+    private final int users = Integer.getInteger("loadtest.users", 1000);
+    private final int rooms = Integer.getInteger("loadtest.rooms", 3);
+    private final int seats = Integer.getInteger("loadtest.seats", 40);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+    private final int polls = Integer.getInteger("loadtest.polls", 20);
+    private final int attempts = Integer.getInteger("loadtest.attempts", 3);
+    private final String claimStore = System.getProperty("loadtest.claim-store", "local");
+    private final String seatCounter = System.getProperty("loadtest.seat-counter", "atomic");
+    private final int bcryptStrength = Integer.getInteger("loadtest.bcrypt-strength", 10);
+    // 모든 요청이 127.0.0.1 에서 오므로 기본은 요청 제한 끔
+    private final boolean rateLimit = Boolean.getBoolean("loadtest.rate-limit");
+    private final String reportPath = System.getProperty("loadtest.report", "build/reports/load-test/report.json");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+    private final AtomicReferenceArray<String> accessTokens;
+    private final List<Long> roomIds = new ArrayList<>();
+
+    private BookingRushLoadTest() {
+        this.accessTokens = new AtomicReferenceArray<>(users);
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new BookingRushLoadTest().run());
+    }
+
+    private int run() throws Exception {
+        RedisServer redis = RedisServer.newRedisServer().start();
+        ConfigurableApplicationContext context = null;
+        try {
+            context = boot(redis.getBindPort());
+            baseUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("앱 기동 완료: %s (claim-store=%s, seat-counter=%s, users=%d, rooms=%d x %d seats, concurrency=%d)%n",
+                    baseUrl, claimStore, seatCounter, users, rooms, seats, concurrency);
+
+            List<Scenario> scenarios = new ArrayList<>();
+            setUpRooms();
+            scenarios.add(signup());
+            scenarios.add(login());
+
+            // 좌석 경쟁 중에도 목록 폴링이 계속 들어옴
+            CompletableFuture<Scenario> polling = CompletableFuture.supplyAsync(this::pollRooms);
+            Scenario reserve = raceForSeats();
+            scenarios.add(reserve);
+            scenarios.add(polling.join());
+
+            Map<String, Object> verification = verify(context.getBean(JdbcTemplate.class), reserve);
+            report(scenarios, verification);
+            return Boolean.TRUE.equals(verification.get("passed")) ? 0 : 1;
+        } finally {
+            if (context != null) {
+                SpringApplication.exit(context);
+            }
+            redis.stop();
+        }
+    }
+
+    private ConfigurableApplicationContext boot(int redisPort) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("sejali.load-test", "true");
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:sejali;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("spring.data.redis.host", "127.0.0.1");
+        properties.put("spring.data.redis.port", String.valueOf(redisPort));
+        properties.put("spring.jwt.secret", "load-test-secret-load-test-secret-load-test-secret");
+        properties.put("sejali.booking.claim-store", claimStore);
+        properties.put("sejali.booking.seat-counter", seatCounter);
+        properties.put("sejali.security.bcrypt-strength", String.valueOf(bcryptStrength));
+        properties.put("sejali.rate-limit.enabled", String.valueOf(rateLimit));
+        properties.put("management.endpoints.web.exposure.include", "health,prometheus");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.nahye.demo", "WARN");
+
+        return new SpringApplicationBuilder(SejaliApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(properties)
+                .run();
+    }
+
+    // 관리자 계정으로 실습실 생성 (측정 대상 아님)
+    private void setUpRooms() throws Exception {
+        Scenario setup = new Scenario("setup", client);
+        setup.send(post("/user/signup", Map.of("studentNum", 99999, "username", "관리자",
+                "userId", ADMIN_ID, "password", PASSWORD, "authLevel", "ADMIN"), null));
+        String adminToken = readToken(setup.send(post("/user/login",
+                Map.of("userId", ADMIN_ID, "password", PASSWORD), null)));
+        if (adminToken == null) {
+            throw new IllegalStateException("관리자 로그인 실패");
+        }
+
+        List<Map<String, Object>> requests = new ArrayList<>();
+        for (int i = 1; i <= rooms; i++) {
+            requests.add(Map.of("roomName", "부하테스트 실습실 " + i, "seats", seats, "roomImg", "room-" + i + ".png"));
+        }
+        HttpResponse<String> response = setup.send(post("/admin/add-rooms", requests, adminToken));
+        if (response == null || response.statusCode() != 201) {
+            throw new IllegalStateException("실습실 생성 실패: " + (response == null ? "응답 없음" : response.body()));
+        }
+        for (JsonNode room : objectMapper.readTree(response.body())) {
+            roomIds.add(room.get("id").asLong());
+        }
+    }
+
+    private Scenario signup() {
+        Scenario scenario = new Scenario("signup", client);
+        forEachUser(scenario, users, i -> scenario.send(post("/user/signup", Map.of(
+                "studentNum", 10000 + i,
+                "username", "학생" + i,
+                "userId", userId(i),
+                "password", PASSWORD,
+                "authLevel", "USER"), null)));
+        return scenario;
+    }
+
+    private Scenario login() {
+        Scenario scenario = new Scenario("login", client);
+        forEachUser(scenario, users, i -> {
+            // 서버가 바쁘다고(503) 하면 잠시 뒤 다시 시도하는 클라이언트
+            for (int attempt = 0; attempt < 5 && accessTokens.get(i) == null; attempt++) {
+                HttpResponse<String> response = scenario.send(post("/user/login",
+                        Map.of("userId", userId(i), "password", PASSWORD), null));
+                if (response != null && response.statusCode() == 503) {
+                    sleep(200L * (attempt + 1));
+                    continue;
+                }
+                accessTokens.set(i, readToken(response));
+            }
+        });
+        return scenario;
+    }
+
+    // 모든 학생이 같은 시간대에 실습실 좌석을 노림. 충돌(409)이면 다른 좌석으로 재시도
+    private Scenario raceForSeats() {
+        Scenario scenario = new Scenario("reserve", client);
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(10, 0);
+        LocalDateTime end = start.plusHours(2);
+        forEachUser(scenario, users, i -> {
+            String token = accessTokens.get(i);
+            if (token == null) {
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int attempt = 0; attempt < attempts; attempt++) {
+                // 앞쪽 좌석에 몰리도록 (창가/앞자리 선호)
+                int seatNum = 1 + (int) (seats * Math.pow(random.nextDouble(), 2));
+                Long roomId = roomIds.get(random.nextInt(roomIds.size()));
+                HttpResponse<String> response = scenario.send(post("/reservation", Map.of(
+                        "roomId", roomId,
+                        "seatNum", seatNum,
+                        "startTime", start.toString(),
+                        "endTime", end.toString()), token));
+                if (response == null || response.statusCode() != 409) {
+                    return;
+                }
+            }
+        });
+        return scenario;
+    }
+
+    private Scenario pollRooms() {
+        Scenario scenario = new Scenario("room-poll", client);
+        forEachUser(scenario, users, i -> {
+            String token = accessTokens.get(i);
+            if (token == null) {
+                return;
+            }
+            String etag = null;
+            for (int poll = 0; poll < polls; poll++) {
+                HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/room"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET();
+                if (etag != null) {
+                    request.header("If-None-Match", etag);
+                }
+                HttpResponse<String> response = scenario.send(request.build());
+                if (response != null) {
+                    etag = response.headers().firstValue("ETag").orElse(etag);
+                }
+                sleep(ThreadLocalRandom.current().nextLong(50, 250));
+            }
+        });
+        return scenario;
+    }
+
+    // 같은 실습실/좌석에서 시간이 겹치는 예약 쌍, 실습실 좌석 수를 넘는 예약, 201 응답 수와 저장된 예약 수 비교
+    private Map<String, Object> verify(JdbcTemplate jdbcTemplate, Scenario reserve) {
+        Long overlaps = jdbcTemplate.queryForObject("""
+                select count(*) from reservations a
+                join reservations b on a.room_id = b.room_id and a.seat_num = b.seat_num and a.id < b.id
+                where a.start_time < b.end_time and b.start_time < a.end_time
+                """, Long.class);
+        Long overbooked = jdbcTemplate.queryForObject("""
+                select count(*) from rooms r
+                where (select count(*) from reservations x where x.room_id = r.id) > r.seats
+                """, Long.class);
+        Long stored = jdbcTemplate.queryForObject("select count(*) from reservations", Long.class);
+        long created = reserve.countOf(201);
+
+        Map<String, Object> verification = new LinkedHashMap<>();
+        verification.put("doubleBookedPairs", overlaps);
+        verification.put("overbookedRooms", overbooked);
+        verification.put("created", created);
+        verification.put("stored", stored);
+        if ("local".equals(claimStore)) {
+            // redis 모드의 remaining_seats 는 write-behind 로 늦게 맞춰지므로 local 에서만 확인
+            Long drifted = jdbcTemplate.queryForObject("""
+                    select count(*) from rooms r
+                    where r.remaining_seats <> r.seats - (select count(*) from reservations x where x.room_id = r.id)
+                    """, Long.class);
+            verification.put("remainingSeatsDrift", drifted);
+        }
+        boolean passed = overlaps == 0 && overbooked == 0 && stored == created
+                && (Long) verification.getOrDefault("remainingSeatsDrift", 0L) == 0;
+        verification.put("passed", passed);
+        return verification;
+    }
+
+    private void report(List<Scenario> scenarios, Map<String, Object> verification) throws Exception {
+        System.out.println();
+        System.out.printf("%-10s %9s %10s %9s %9s %9s %9s  %s%n",
+                "scenario", "requests", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "statuses");
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            Map<String, Object> summary = scenario.summary();
+            summaries.add(summary);
+            System.out.printf("%-10s %9d %10.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    summary.get("scenario"), summary.get("requests"), summary.get("throughput"),
+                    summary.get("p50Ms"), summary.get("p99Ms"), summary.get("p999Ms"), summary.get("maxMs"),
+                    summary.get("statuses"));
+        }
+        System.out.println();
+        System.out.println("검증: " + verification);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("claimStore", claimStore);
+        report.put("seatCounter", seatCounter);
+        report.put("users", users);
+        report.put("rooms", rooms);
+        report.put("seats", seats);
+        report.put("concurrency", concurrency);
+        report.put("scenarios", summaries);
+        report.put("verification", verification);
+        File file = new File(reportPath);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(file, report);
+        System.out.println("결과 저장: " + file.getAbsolutePath());
+    }
+
+    // 사용자마다 가상 스레드 하나, 동시에 진행하는 사용자는 concurrency 명까지
+    private void forEachUser(Scenario scenario, int count, IntConsumer perUser) {
+        Semaphore permits = new Semaphore(concurrency);
+        scenario.start();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int user = i;
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        perUser.accept(user);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        scenario.finish();
+        System.out.printf("%s 완료: %d건%n", scenario.getName(), scenario.requests());
+    }
+
+    private HttpRequest post(String path, Object body, String accessToken) {
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+            if (accessToken != null) {
+                request.header("Authorization", "Bearer " + accessToken);
+            }
+            return request.build();
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private String readToken(HttpResponse<String> response) {
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body()).path("accessToken").asText(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String userId(int i) {
+        return "student" + i;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package nahye.demo.loadtest;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 부하 테스트의 인메모리 Redis(jedis-mock)는 RESP2 만 지원하므로 HELLO 협상을 건너뜀
+@Configuration
+@ConditionalOnProperty(name = "sejali.load-test", havingValue = "true")
+public class LoadTestRedisConfig {
+
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer resp2Customizer() {
+        return builder -> builder.clientOptions(ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP2)
+                .build());
+    }
+}
@@ -0,0 +1,118 @@
+package nahye.demo.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시나리오 하나의 요청 기록 (응답 코드별 건수, 지연 시간).
+ * 연결 실패 등 응답을 못 받은 요청은 상태 코드 -1 로 셉니다.
+ */
+final class Scenario {
+
+    private final String name;
+    private final HttpClient client;
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private long[] latencies = new long[1024];
+    private int count;
+    private long startedNanos;
+    private long finishedNanos;
+
+    Scenario(String name, HttpClient client) {
+        this.name = name;
+        this.client = client;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void start() {
+        startedNanos = System.nanoTime();
+    }
+
+    void finish() {
+        finishedNanos = System.nanoTime();
+    }
+
+    // 응답을 못 받으면 null
+    HttpResponse<String> send(HttpRequest request) {
+        long started = System.nanoTime();
+        int status = -1;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            return response;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            record(System.nanoTime() - started);
+            statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+        }
+    }
+
+    long countOf(int status) {
+        LongAdder adder = statuses.get(status);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    synchronized long requests() {
+        return count;
+    }
+
+    Map<String, Object> summary() {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(latencies, count);
+        }
+        Arrays.sort(sorted);
+        double seconds = (finishedNanos - startedNanos) / 1e9;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", name);
+        summary.put("requests", sorted.length);
+        summary.put("seconds", round(seconds));
+        summary.put("throughput", round(seconds > 0 ? sorted.length / seconds : 0));
+        summary.put("p50Ms", millis(percentile(sorted, 0.50)));
+        summary.put("p99Ms", millis(percentile(sorted, 0.99)));
+        summary.put("p999Ms", millis(percentile(sorted, 0.999)));
+        summary.put("maxMs", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        Map<String, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, adder) -> byStatus.put(String.valueOf(status), adder.sum()));
+        summary.put("statuses", byStatus);
+        return summary;
+    }
+
+    private synchronized void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
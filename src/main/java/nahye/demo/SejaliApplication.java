@@ -2,12 +2,29 @@ package nahye.demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 @SpringBootApplication
+@EnableScheduling
 public class SejaliApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(SejaliApplication.class, args);
+		SpringApplication application = new SpringApplication(SejaliApplication.class);
+		// 설정 파일에서 덮어쓸 수 있는 기본값 (health/prometheus 만 웹에 노출)
+		// Lettuce 풀: 일반 명령은 공유 커넥션 하나로 보내고, 풀은 MULTI/블로킹 명령 같은 전용 커넥션에만 쓰임.
+		// commons-pool2 가 클래스패스에 있기만 해도 켜지는 동작에 기대지 않도록 명시 (지표: commons_pool2_*)
+		// @Scheduled 풀: Boot 기본값은 스레드 1개라 DB 가 느릴 때 쓰기 지연(write-behind) 한 번이
+		// 전역 한도 동기화, 대기열 입장, SSE 프레임을 함께 밀어냄. 작업(현재 12개)마다 스레드 하나씩 두어 서로 기다리지 않게 함
+		// (가상 스레드 모드에서는 작업마다 가상 스레드를 쓰므로 이 값은 쓰이지 않음)
+		application.setDefaultProperties(Map.of(
+				"management.endpoints.web.exposure.include", "health,prometheus",
+				"management.metrics.tags.application", "sejali",
+				"spring.data.redis.lettuce.pool.enabled", "true",
+				"spring.task.scheduling.pool.size", "12"
+		));
+		application.run(args);
 	}
 
 }
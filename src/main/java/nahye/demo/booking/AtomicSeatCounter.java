@@ -0,0 +1,22 @@
+package nahye.demo.booking;
+
+import lombok.RequiredArgsConstructor;
+import nahye.demo.repository.RoomRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 조건부 UPDATE 한 번 (행 잠금은 UPDATE 순간부터 예약 트랜잭션 커밋까지)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sejali.booking.seat-counter", havingValue = "atomic", matchIfMissing = true)
+public class AtomicSeatCounter implements SeatCounter {
+    private final RoomRepository roomRepository;
+
+    @Override
+    public boolean tryDecrement(Long roomId, int count) {
+        int updated = count == 1
+                ? roomRepository.decrementRemainingSeats(roomId)
+                : roomRepository.decrementRemainingSeatsBy(roomId, count);
+        return updated == 1;
+    }
+}
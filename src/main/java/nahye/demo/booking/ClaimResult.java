@@ -0,0 +1,7 @@
+package nahye.demo.booking;
+
+public enum ClaimResult {
+    CLAIMED,
+    SEAT_TAKEN,
+    ROOM_FULL
+}
@@ -0,0 +1,114 @@
+package nahye.demo.booking;
+
+import lombok.RequiredArgsConstructor;
+import nahye.demo.dto.reservation.ReservationSlot;
+import nahye.demo.dto.room.RoomSeatCount;
+import nahye.demo.entity.Room;
+import nahye.demo.repository.ReservationRepository;
+import nahye.demo.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 단일 노드용: 메모리 점유 인덱스 + DB 남은 좌석 감소 (방식은 SeatCounter, sejali.booking.seat-counter)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sejali.booking.claim-store", havingValue = "local", matchIfMissing = true)
+public class LocalSeatClaimStore implements SeatClaimStore {
+    private final SeatOccupancyIndex occupancyIndex;
+    private final RoomRepository roomRepository;
+    private final SeatCounter seatCounter;
+    private final ReservationRepository reservationRepository;
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSeatClaimStore.class);
+
+    // 서버 기동 시 아직 끝나지 않은 예약으로 점유 인덱스 적재
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOccupancyIndex() {
+        Map<Long, Integer> seatCounts = roomRepository.findAll().stream()
+                .collect(Collectors.toMap(Room::getId, Room::getSeats));
+
+        List<ReservationSlot> slots = reservationRepository.findActiveSlots(LocalDateTime.now());
+        for (ReservationSlot slot : slots) {
+            Integer seatCount = seatCounts.get(slot.getRoomId());
+            if (seatCount == null || slot.getSeatNum() < 1 || slot.getSeatNum() > seatCount) {
+                continue;
+            }
+            occupancyIndex.claim(slot.getRoomId(), seatCount, slot.getSeatNum(), slot.getStartTime(), slot.getEndTime());
+        }
+        logger.info("좌석 점유 인덱스 적재 완료: {}건", slots.size());
+    }
+
+    @Override
+    public ClaimResult claim(Room room, int seatNum, LocalDateTime start, LocalDateTime end) {
+        if (!occupancyIndex.claim(room.getId(), room.getSeats(), seatNum, start, end)) {
+            return ClaimResult.SEAT_TAKEN;
+        }
+        if (!decrement(room.getId(), 1, () -> occupancyIndex.release(room.getId(), seatNum, start))) {
+            return ClaimResult.ROOM_FULL;
+        }
+        return ClaimResult.CLAIMED;
+    }
+
+    // 인덱스 점유는 메모리에서 좌석별로, 남은 좌석 감소는 한 번에
+    @Override
+    public ClaimResult claimAll(Room room, List<Integer> seatNums, LocalDateTime start, LocalDateTime end) {
+        List<Integer> claimed = new ArrayList<>(seatNums.size());
+        for (int seatNum : seatNums) {
+            if (!occupancyIndex.claim(room.getId(), room.getSeats(), seatNum, start, end)) {
+                claimed.forEach(seat -> occupancyIndex.release(room.getId(), seat, start));
+                return ClaimResult.SEAT_TAKEN;
+            }
+            claimed.add(seatNum);
+        }
+        if (!decrement(room.getId(), seatNums.size(),
+                () -> claimed.forEach(seat -> occupancyIndex.release(room.getId(), seat, start)))) {
+            return ClaimResult.ROOM_FULL;
+        }
+        return ClaimResult.CLAIMED;
+    }
+
+    @Override
+    public void abort(Room room, int seatNum, LocalDateTime start, LocalDateTime end) {
+        // 남은 좌석 감소는 SeatCounter 가 되돌림 (예약 트랜잭션에 포함된 방식은 롤백으로, 아니면 감소한 쪽의 보상으로)
+        occupancyIndex.release(room.getId(), seatNum, start);
+    }
+
+    @Override
+    public void release(Room room, int seatNum, LocalDateTime start, LocalDateTime end) {
+        occupancyIndex.release(room.getId(), seatNum, start);
+        roomRepository.incrementRemainingSeats(room.getId());
+    }
+
+    // 남은 좌석 감소가 DB 에서 동기로 일어나므로 컬럼 값이 기준
+    @Override
+    public Map<Long, Integer> remainingSeats(Collection<Long> roomIds) {
+        return roomRepository.findSeatCounts(roomIds).stream()
+                .collect(Collectors.toMap(RoomSeatCount::getId, RoomSeatCount::getRemainingSeats));
+    }
+
+    // 감소하지 못했거나 경합으로 실패하면 인덱스 점유를 되돌림
+    private boolean decrement(Long roomId, int count, Runnable releaseIndex) {
+        boolean decremented;
+        try {
+            decremented = seatCounter.tryDecrement(roomId, count);
+        } catch (RuntimeException e) {
+            releaseIndex.run();
+            throw e;
+        }
+        if (!decremented) {
+            releaseIndex.run();
+        }
+        return decremented;
+    }
+}
@@ -0,0 +1,87 @@
+package nahye.demo.booking;
+
+import nahye.demo.config.ReservationMetrics;
+import nahye.demo.entity.Room;
+import nahye.demo.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @Version 기반 낙관적 감소.
+ * 예약 트랜잭션 안에서 다시 읽으면 (MySQL REPEATABLE READ) 같은 스냅샷만 보게 되므로
+ * 시도마다 새 트랜잭션에서 읽고-수정-커밋하고, 충돌하면 잠깐 쉬었다가 최대 max-attempts 번까지 다시 시도합니다.
+ * 감소가 먼저 커밋되므로 예약 트랜잭션이 커밋되지 않으면 끝난 뒤 다시 늘립니다.
+ */
+@Component
+@ConditionalOnProperty(name = "sejali.booking.seat-counter", havingValue = "optimistic")
+public class OptimisticSeatCounter implements SeatCounter {
+
+    public static final String NAME = "optimistic";
+
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationMetrics reservationMetrics;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticSeatCounter(RoomRepository roomRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ReservationMetrics reservationMetrics,
+                                 @Value("${sejali.booking.optimistic-max-attempts:5}") int maxAttempts,
+                                 @Value("${sejali.booking.optimistic-backoff-ms:2}") long backoffMillis) {
+        this.roomRepository = roomRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reservationMetrics = reservationMetrics;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.backoffMillis = backoffMillis;
+    }
+
+    @Override
+    public boolean tryDecrement(Long roomId, int count) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                boolean decremented = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    Room room = roomRepository.findById(roomId).orElse(null);
+                    if (room == null || room.getRemainingSeats() < count) {
+                        return false;
+                    }
+                    // 커밋 시 version 조건 UPDATE. 그 사이 다른 요청이 바꿨으면 OptimisticLockingFailureException
+                    room.setRemainingSeats(room.getRemainingSeats() - count);
+                    return true;
+                }));
+                if (decremented) {
+                    SeatCountCompensation.restoreOnRollback(roomRepository, roomId, count);
+                }
+                return decremented;
+            } catch (OptimisticLockingFailureException e) {
+                boolean retry = attempt < maxAttempts;
+                reservationMetrics.recordCounterConflict(NAME, retry);
+                if (!retry) {
+                    throw new IllegalStateException("예약이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", e);
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    // 같이 충돌한 요청들이 다시 한꺼번에 부딪히지 않도록 시도 횟수에 비례한 범위에서 무작위로 쉼
+    private void backoff(int attempt) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("좌석 처리 중 인터럽트", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package nahye.demo.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import nahye.demo.entity.Room;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// PESSIMISTIC_WRITE 로 행을 잠그고 읽은 뒤 수정. 같은 실습실 예약은 커밋 순서대로 한 줄로 처리됨
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sejali.booking.seat-counter", havingValue = "pessimistic")
+public class PessimisticSeatCounter implements SeatCounter {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public boolean tryDecrement(Long roomId, int count) {
+        Room room = entityManager.find(Room.class, roomId);
+        if (room == null) {
+            return false;
+        }
+        // 예약 트랜잭션이 이미 읽어 둔 엔티티일 수 있으므로 find 의 잠금 대신 refresh 로 잠그면서 최신 값을 다시 읽음
+        entityManager.refresh(room, LockModeType.PESSIMISTIC_WRITE);
+        if (room.getRemainingSeats() < count) {
+            return false;
+        }
+        room.setRemainingSeats(room.getRemainingSeats() - count);
+        return true;
+    }
+}
@@ -0,0 +1,205 @@
+package nahye.demo.booking;
+
+import jakarta.annotation.PreDestroy;
+import nahye.demo.config.ReservationMetrics;
+import nahye.demo.dto.room.RoomSeatCount;
+import nahye.demo.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 실습실별 단일 쓰기 큐.
+ * 요청은 실습실 큐에 넣고 기다리며, 실습실마다 가상 스레드 하나만 큐를 비웁니다.
+ * 쓰기 스레드는 밀린 요청을 도착 순서대로 남은 좌석만큼 배정하고 조건부 UPDATE 한 번으로 반영하므로
+ * 같은 행을 두고 트랜잭션끼리 잠금 경쟁을 하지 않습니다.
+ * wait-ms 안에 배정받지 못한 요청은 큐에서 빠지고 IllegalStateException 으로 끝납니다.
+ * 쓰기 스레드가 이미 가져간 요청도 wait-ms 를 한 번 더 기다린 뒤에는 포기하고 RejectedExecutionException(503) 으로 끝납니다.
+ * 예약 트랜잭션이 커넥션을 잡은 채 기다리므로, 풀이 모자라 쓰기 스레드가 커넥션을 얻지 못해도 요청이 무한정 묶이지 않습니다.
+ * 감소는 쓰기 스레드의 트랜잭션에서 먼저 커밋되므로, 예약 트랜잭션이 커밋되지 않았거나 기다리다 포기한 감소는 다시 늘립니다.
+ */
+@Component
+@ConditionalOnProperty(name = "sejali.booking.seat-counter", havingValue = "queued")
+public class QueuedSeatCounter implements SeatCounter {
+
+    public static final String NAME = "queued";
+
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationMetrics reservationMetrics;
+    private final long waitMillis;
+    private final int maxBatch;
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final Logger logger = LoggerFactory.getLogger(QueuedSeatCounter.class);
+
+    public QueuedSeatCounter(RoomRepository roomRepository,
+                             PlatformTransactionManager transactionManager,
+                             ReservationMetrics reservationMetrics,
+                             @Value("${sejali.booking.queued-wait-ms:2000}") long waitMillis,
+                             @Value("${sejali.booking.queued-max-batch:256}") int maxBatch) {
+        this.roomRepository = roomRepository;
+        // 쓰기 스레드에는 바깥 트랜잭션이 없으므로 기본 전파(REQUIRED)로 새 트랜잭션이 열림
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reservationMetrics = reservationMetrics;
+        this.waitMillis = waitMillis;
+        this.maxBatch = Math.max(maxBatch, 1);
+    }
+
+    @Override
+    public boolean tryDecrement(Long roomId, int count) {
+        Lane lane = lanes.computeIfAbsent(roomId, Lane::new);
+        Request request = new Request(count);
+        lane.queue.add(request);
+        if (lane.running.compareAndSet(false, true)) {
+            writers.execute(() -> drain(lane));
+        }
+        boolean decremented = await(roomId, request);
+        if (decremented) {
+            SeatCountCompensation.restoreOnRollback(roomRepository, roomId, count);
+        }
+        return decremented;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private boolean await(Long roomId, Request request) {
+        try {
+            try {
+                return request.result.get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (request.taken.compareAndSet(false, true)) {
+                    reservationMetrics.recordCounterConflict(NAME, false);
+                    throw new IllegalStateException("예약이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+                }
+            }
+            // 쓰기 스레드가 이미 가져가 반영 중. 커넥션을 잡은 채 무한정 기다리지 않도록 한 번 더만 기다림
+            try {
+                return request.result.get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                abandon(roomId, request);
+                reservationMetrics.recordCounterConflict(NAME, false);
+                throw new RejectedExecutionException("좌석 처리가 지연되고 있습니다. 잠시 후 다시 시도해 주세요.");
+            }
+        } catch (InterruptedException e) {
+            abandon(roomId, request);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("좌석 처리 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 결과를 받지 않고 떠남. 쓰기 스레드가 이미 가져갔으면 감소가 나중에 커밋될 수 있으므로 커밋되는 대로 되돌림
+    private void abandon(Long roomId, Request request) {
+        if (request.taken.compareAndSet(false, true)) {
+            return;
+        }
+        request.result.thenAccept(granted -> {
+            if (granted) {
+                SeatCountCompensation.restore(roomRepository, roomId, request.count);
+            }
+        });
+    }
+
+    private void drain(Lane lane) {
+        while (true) {
+            List<Request> batch = new ArrayList<>();
+            Request request;
+            while (batch.size() < maxBatch && (request = lane.queue.poll()) != null) {
+                // 기다리다 포기한 요청은 건너뜀
+                if (request.taken.compareAndSet(false, true)) {
+                    batch.add(request);
+                }
+            }
+            if (batch.isEmpty()) {
+                lane.running.set(false);
+                // 플래그를 내리는 사이 들어온 요청이 있으면 다시 맡음
+                if (lane.queue.isEmpty() || !lane.running.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                apply(lane.roomId, batch);
+            } catch (RuntimeException e) {
+                logger.warn("남은 좌석 일괄 감소 실패: roomId={}, 요청 {}건", lane.roomId, batch.size(), e);
+                batch.forEach(r -> r.result.completeExceptionally(e));
+            }
+        }
+    }
+
+    // 남은 좌석을 한 번 읽고 도착 순서대로 배정한 뒤 배정한 합계만큼 UPDATE 한 번
+    private void apply(Long roomId, List<Request> batch) {
+        boolean[] granted = new boolean[batch.size()];
+        transactionTemplate.executeWithoutResult(status -> {
+            List<RoomSeatCount> counts = roomRepository.findSeatCounts(List.of(roomId));
+            int available = counts.isEmpty() ? 0 : counts.get(0).getRemainingSeats();
+            int total = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                int count = batch.get(i).count;
+                if (count <= available - total) {
+                    granted[i] = true;
+                    total += count;
+                }
+            }
+            // 감소는 이 스레드만 하므로 읽은 뒤 값은 늘어날 수만 있음 (취소). 조건은 안전장치
+            if (total > 0 && roomRepository.decrementRemainingSeatsBy(roomId, total) == 0) {
+                Arrays.fill(granted, false);
+            }
+        });
+        reservationMetrics.recordCounterBatch(NAME, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(granted[i]);
+        }
+    }
+
+    private static final class Lane {
+        private final Long roomId;
+        private final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private Lane(Long roomId) {
+            this.roomId = roomId;
+        }
+    }
+
+    private static final class Request {
+        private final int count;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        // 쓰기 스레드가 가져갔거나 기다리던 쪽이 포기함 (둘 중 먼저 바꾼 쪽만 유효)
+        private final AtomicBoolean taken = new AtomicBoolean();
+
+        private Request(int count) {
+            this.count = count;
+        }
+    }
+}
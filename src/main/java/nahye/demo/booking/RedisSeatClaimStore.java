@@ -0,0 +1,327 @@
+package nahye.demo.booking;
+
+import lombok.RequiredArgsConstructor;
+import nahye.demo.dto.reservation.ReservationSlot;
+import nahye.demo.dto.room.RoomSeatCount;
+import nahye.demo.entity.Room;
+import nahye.demo.repository.ReservationRepository;
+import nahye.demo.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 노드가 공유하는 좌석 점유 저장소.
+ * 실습실/날짜/15분 슬롯마다 좌석 비트맵 하나, 실습실마다 남은 좌석 카운터 하나를 두고
+ * 검사와 점유를 Lua 스크립트 한 번(= Redis 왕복 한 번)으로 원자적으로 처리합니다.
+ * rooms.remaining_seats 컬럼은 RemainingSeatsWriteBehind 가 비동기로 맞춥니다.
+ *
+ * 카운터와 비트맵은 DB 의 진행 중인 예약으로 다시 만들 수 있는 캐시입니다.
+ * 실습실마다 적재 완료 표시 키를 두고, 표시가 없으면(Redis 재시작/FLUSH/축출) 스크립트가 -3 을 돌려주므로
+ * 그 실습실을 DB 에서 다시 적재한 뒤 한 번 더 시도합니다. 기동 시에도 표시가 없는 실습실을 적재합니다.
+ * 카운터 초기값은 rooms.remaining_seats(쓰기 지연으로 늦을 수 있음)가 아니라 전체 좌석 - 진행 중인 예약 수입니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sejali.booking.claim-store", havingValue = "redis")
+public class RedisSeatClaimStore implements SeatClaimStore {
+
+    public static final int SLOT_MINUTES = 15;
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    static final long NOT_LOADED = -3;
+
+    // KEYS[1]: 남은 좌석 카운터, KEYS[2]: 적재 완료 표시, KEYS[3..]: 슬롯 비트맵
+    // ARGV[1]: 좌석 번호, ARGV[2]: 비트맵 TTL(초)
+    // 반환: 감소 후 남은 좌석 수, -1 이미 점유됨, -2 남은 좌석 없음, -3 적재 안 됨
+    private static final RedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                return -3
+            end
+            local seat = tonumber(ARGV[1])
+            for i = 3, #KEYS do
+                if redis.call('GETBIT', KEYS[i], seat) == 1 then
+                    return -1
+                end
+            end
+            if tonumber(redis.call('GET', KEYS[1]) or '0') <= 0 then
+                return -2
+            end
+            for i = 3, #KEYS do
+                redis.call('SETBIT', KEYS[i], seat, 1)
+                redis.call('EXPIRE', KEYS[i], ARGV[2])
+            end
+            return redis.call('DECR', KEYS[1])
+            """, Long.class);
+
+    // 단체 예약: ARGV[1]: 비트맵 TTL(초), ARGV[2..]: 좌석 번호
+    // 반환: 감소 후 남은 좌석 수, -1 하나라도 이미 점유됨, -2 남은 좌석 부족, -3 적재 안 됨
+    private static final RedisScript<Long> CLAIM_ALL_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                return -3
+            end
+            local count = #ARGV - 1
+            for i = 3, #KEYS do
+                for j = 2, #ARGV do
+                    if redis.call('GETBIT', KEYS[i], ARGV[j]) == 1 then
+                        return -1
+                    end
+                end
+            end
+            if tonumber(redis.call('GET', KEYS[1]) or '0') < count then
+                return -2
+            end
+            for i = 3, #KEYS do
+                for j = 2, #ARGV do
+                    redis.call('SETBIT', KEYS[i], ARGV[j], 1)
+                end
+                redis.call('EXPIRE', KEYS[i], ARGV[1])
+            end
+            return redis.call('DECRBY', KEYS[1], count)
+            """, Long.class);
+
+    // ARGV[1]: 좌석 번호, ARGV[2]: 전체 좌석 수(카운터 상한)
+    // 반환: 증가 후 남은 좌석 수, -1 점유된 비트가 없었음(또는 적재 안 됨. 다음 적재가 DB 기준으로 맞춤)
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                return -1
+            end
+            local seat = tonumber(ARGV[1])
+            local held = 0
+            for i = 3, #KEYS do
+                held = held + redis.call('SETBIT', KEYS[i], seat, 0)
+            end
+            if held == 0 then
+                return -1
+            end
+            local remaining = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if remaining < tonumber(ARGV[2]) then
+                return redis.call('INCR', KEYS[1])
+            end
+            return remaining
+            """, Long.class);
+
+    // DB 에서 다시 적재. 다른 노드가 먼저 적재했으면 아무것도 하지 않음
+    // KEYS[1]: 카운터, KEYS[2]: 적재 완료 표시, KEYS[3..]: 슬롯 비트맵
+    // ARGV[1]: 남은 좌석 수, ARGV[i-1]: KEYS[i] 의 "TTL 좌석 좌석 ..."
+    // 반환: 1 적재함, 0 이미 적재되어 있었음
+    private static final RedisScript<Long> REBUILD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                return 0
+            end
+            for i = 3, #KEYS do
+                local ttl = nil
+                for n in string.gmatch(ARGV[i - 1], '%d+') do
+                    if ttl == nil then
+                        ttl = n
+                    else
+                        redis.call('SETBIT', KEYS[i], n, 1)
+                    end
+                end
+                redis.call('EXPIRE', KEYS[i], ttl)
+            end
+            redis.call('SET', KEYS[1], ARGV[1])
+            redis.call('SET', KEYS[2], '1')
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RemainingSeatsWriteBehind writeBehind;
+    private final RoomRepository roomRepository;
+    private final ReservationRepository reservationRepository;
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisSeatClaimStore.class);
+
+    // 기동 시 적재 표시가 없는 실습실만 DB 에서 적재 (이미 다른 노드가 쓰고 있는 카운터는 건드리지 않음)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadMissingRooms() {
+        List<Room> missing = roomRepository.findAll().stream()
+                .filter(room -> !Boolean.TRUE.equals(redisTemplate.hasKey(loadedKey(room.getId()))))
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Long, List<ReservationSlot>> slotsByRoom = reservationRepository.findActiveSlots(LocalDateTime.now()).stream()
+                .collect(Collectors.groupingBy(ReservationSlot::getRoomId));
+        int loaded = 0;
+        for (Room room : missing) {
+            if (rebuild(room, slotsByRoom.getOrDefault(room.getId(), List.of()))) {
+                loaded++;
+            }
+        }
+        logger.info("Redis 좌석 카운터/비트맵 적재 완료: {}개 실습실", loaded);
+    }
+
+    @Override
+    public ClaimResult claim(Room room, int seatNum, LocalDateTime start, LocalDateTime end) {
+        Long result = loadedOrRebuild(room, () -> redisTemplate.execute(CLAIM_SCRIPT, keys(room.getId(), start, end),
+                String.valueOf(seatNum),
+                String.valueOf(bitmapTtlSeconds(end))));
+        return toClaimResult(room, result);
+    }
+
+    // 좌석 수와 상관없이 Redis 왕복 한 번
+    @Override
+    public ClaimResult claimAll(Room room, List<Integer> seatNums, LocalDateTime start, LocalDateTime end) {
+        List<String> args = new ArrayList<>(seatNums.size() + 1);
+        args.add(String.valueOf(bitmapTtlSeconds(end)));
+        seatNums.forEach(seatNum -> args.add(String.valueOf(seatNum)));
+
+        Long result = loadedOrRebuild(room,
+                () -> redisTemplate.execute(CLAIM_ALL_SCRIPT, keys(room.getId(), start, end), args.toArray()));
+        return toClaimResult(room, result);
+    }
+
+    @Override
+    public void abort(Room room, int seatNum, LocalDateTime start, LocalDateTime end) {
+        release(room, seatNum, start, end);
+    }
+
+    @Override
+    public void release(Room room, int seatNum, LocalDateTime start, LocalDateTime end) {
+        Long result = redisTemplate.execute(RELEASE_SCRIPT, keys(room.getId(), start, end),
+                String.valueOf(seatNum),
+                String.valueOf(room.getSeats()));
+
+        if (result != null && result >= 0) {
+            writeBehind.markDirty(room.getId());
+        }
+    }
+
+    // rooms.remaining_seats 는 쓰기 지연으로 늦으므로 Redis 카운터(MGET 한 번)를 기준으로 하고, 적재 전인 실습실만 DB 값 사용
+    @Override
+    public Map<Long, Integer> remainingSeats(Collection<Long> roomIds) {
+        List<Long> ids = List.copyOf(roomIds);
+        List<String> counters = redisTemplate.opsForValue()
+                .multiGet(ids.stream().map(RedisSeatClaimStore::counterKey).toList());
+        Map<Long, Integer> remaining = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String value = counters == null ? null : counters.get(i);
+            if (value == null) {
+                missing.add(ids.get(i));
+            } else {
+                remaining.put(ids.get(i), Integer.parseInt(value));
+            }
+        }
+        if (!missing.isEmpty()) {
+            roomRepository.findSeatCounts(missing)
+                    .forEach(count -> remaining.put(count.getId(), count.getRemainingSeats()));
+        }
+        return remaining;
+    }
+
+    /**
+     * 실습실 하나를 DB 의 진행 중인 예약으로 다시 적재. 적재했으면 true.
+     * DB 를 읽은 뒤 적재 스크립트가 실행되기 전에 커밋된 취소는 반영되지 않아 좌석 하나가 덜 남을 수 있고,
+     * Redis 가 비워지기 전에 점유했지만 아직 커밋되지 않은 예약은 비트맵에 빠질 수 있습니다. 둘 다 Redis 유실 직후에만 생깁니다.
+     */
+    boolean rebuild(Room room, List<ReservationSlot> activeSlots) {
+        Map<String, Long> ttls = new LinkedHashMap<>();
+        Map<String, StringJoiner> seats = new LinkedHashMap<>();
+        for (ReservationSlot slot : activeSlots) {
+            long ttl = bitmapTtlSeconds(slot.getEndTime());
+            for (String key : slotKeys(room.getId(), slot.getStartTime(), slot.getEndTime())) {
+                ttls.merge(key, ttl, Math::max);
+                seats.computeIfAbsent(key, k -> new StringJoiner(" ")).add(String.valueOf(slot.getSeatNum()));
+            }
+        }
+
+        List<String> keys = new ArrayList<>(ttls.size() + 2);
+        keys.add(counterKey(room.getId()));
+        keys.add(loadedKey(room.getId()));
+        List<String> args = new ArrayList<>(ttls.size() + 1);
+        args.add(String.valueOf(Math.max(room.getSeats() - activeSlots.size(), 0)));
+        ttls.forEach((key, ttl) -> {
+            keys.add(key);
+            args.add(ttl + " " + seats.get(key));
+        });
+
+        Long loaded = redisTemplate.execute(REBUILD_SCRIPT, keys, args.toArray());
+        if (loaded != null && loaded == 1) {
+            writeBehind.markDirty(room.getId());
+            return true;
+        }
+        return false;
+    }
+
+    // 적재 표시가 없어 -3 이면 DB 에서 적재하고 한 번 더 실행
+    private Long loadedOrRebuild(Room room, Supplier<Long> script) {
+        Long result = script.get();
+        if (result == null || result != NOT_LOADED) {
+            return result;
+        }
+        logger.warn("Redis 좌석 카운터 없음, DB 에서 다시 적재: roomId={}", room.getId());
+        rebuild(room, reservationRepository.findActiveRoomSlots(room.getId(), LocalDateTime.now()));
+        return script.get();
+    }
+
+    private ClaimResult toClaimResult(Room room, Long result) {
+        if (result == null || result == NOT_LOADED) {
+            throw new IllegalStateException("좌석 정보를 불러오지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        if (result == -1) {
+            return ClaimResult.SEAT_TAKEN;
+        }
+        if (result == -2) {
+            return ClaimResult.ROOM_FULL;
+        }
+        writeBehind.markDirty(room.getId());
+        return ClaimResult.CLAIMED;
+    }
+
+    public static String counterKey(Long roomId) {
+        // 해시 태그로 한 실습실의 키를 같은 클러스터 슬롯에 모음
+        return "seat:{room:" + roomId + "}:remaining";
+    }
+
+    static String loadedKey(Long roomId) {
+        return "seat:{room:" + roomId + "}:loaded";
+    }
+
+    private static List<String> keys(Long roomId, LocalDateTime start, LocalDateTime end) {
+        List<String> keys = new ArrayList<>();
+        keys.add(counterKey(roomId));
+        keys.add(loadedKey(roomId));
+        keys.addAll(slotKeys(roomId, start, end));
+        return keys;
+    }
+
+    static List<String> slotKeys(Long roomId, LocalDateTime start, LocalDateTime end) {
+        List<String> keys = new ArrayList<>();
+        LocalDateTime slot = start.truncatedTo(ChronoUnit.HOURS)
+                .plusMinutes((start.getMinute() / SLOT_MINUTES) * SLOT_MINUTES);
+        while (slot.isBefore(end)) {
+            int index = (slot.getHour() * 60 + slot.getMinute()) / SLOT_MINUTES;
+            keys.add("seat:{room:" + roomId + "}:" + slot.format(DAY) + ":" + index);
+            slot = slot.plusMinutes(SLOT_MINUTES);
+        }
+        return keys;
+    }
+
+    // 예약이 끝난 날 다음 날까지 보관
+    private static long bitmapTtlSeconds(LocalDateTime end) {
+        LocalDateTime expireAt = end.toLocalDate().plusDays(2).atStartOfDay();
+        return Math.max(Duration.between(LocalDateTime.now(), expireAt).getSeconds(), 60);
+    }
+}
@@ -0,0 +1,69 @@
+package nahye.demo.booking;
+
+import lombok.RequiredArgsConstructor;
+import nahye.demo.event.RoomChangedEvent;
+import nahye.demo.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 카운터를 rooms.remaining_seats 에 비동기로 반영.
+ * 변경된 실습실 id 만 모아 두었다가 주기적으로 Redis 의 현재 값을 읽어 덮어쓰므로
+ * 여러 노드가 동시에 써도 증감이 유실되지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sejali.booking.claim-store", havingValue = "redis")
+public class RemainingSeatsWriteBehind {
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RoomRepository roomRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+
+    private static final Logger logger = LoggerFactory.getLogger(RemainingSeatsWriteBehind.class);
+
+    public void markDirty(Long roomId) {
+        dirtyRooms.add(roomId);
+    }
+
+    @Scheduled(fixedDelayString = "${sejali.booking.write-behind-ms:500}")
+    public void flush() {
+        if (dirtyRooms.isEmpty()) {
+            return;
+        }
+        List<Long> roomIds = new ArrayList<>(dirtyRooms);
+        roomIds.forEach(dirtyRooms::remove);
+
+        List<String> counters = redisTemplate.opsForValue()
+                .multiGet(roomIds.stream().map(RedisSeatClaimStore::counterKey).toList());
+        if (counters == null) {
+            dirtyRooms.addAll(roomIds);
+            return;
+        }
+
+        for (int i = 0; i < roomIds.size(); i++) {
+            String value = counters.get(i);
+            if (value == null) {
+                continue;
+            }
+            try {
+                roomRepository.updateRemainingSeats(roomIds.get(i), Integer.parseInt(value));
+                eventPublisher.publishEvent(new RoomChangedEvent(roomIds.get(i)));
+            } catch (Exception e) {
+                logger.error("남은 좌석 수 반영 실패: roomId={}", roomIds.get(i), e);
+                dirtyRooms.add(roomIds.get(i));
+            }
+        }
+    }
+}
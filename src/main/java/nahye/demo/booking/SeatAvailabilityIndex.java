@@ -0,0 +1,265 @@
+package nahye.demo.booking;
+
+import nahye.demo.dto.reservation.ReservationSlot;
+import nahye.demo.entity.Room;
+import nahye.demo.event.SeatChangedEvent;
+import nahye.demo.repository.ReservationRepository;
+import nahye.demo.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 실습실/날짜별 좌석 x 15분 슬롯 점유 비트맵.
+ * 좌석마다 long 2개(96슬롯)를 두고, 처음 조회될 때 그날 예약으로 한 번 만든 뒤에는
+ * 예약/취소 이벤트(다른 노드 것 포함)로 해당 비트만 갱신합니다.
+ * "14:00~16:00 에 빈 좌석" 같은 조회는 좌석마다 마스크와 AND 두 번입니다.
+ */
+@Component
+public class SeatAvailabilityIndex {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES; // 96
+    public static final int WORDS_PER_SEAT = (SLOTS_PER_DAY + 63) / 64; // 2
+    private static final int STRIPES = 64; // 2의 거듭제곱
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final long idleMillis;
+
+    private final Map<GridKey, DayGrid> grids = new ConcurrentHashMap<>();
+    // 적재 중인 격자에 들어온 변경 (적재가 끝나면 다시 적용)
+    private final Map<GridKey, List<SeatChangedEvent>> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public SeatAvailabilityIndex(ReservationRepository reservationRepository,
+                                 RoomRepository roomRepository,
+                                 @Value("${sejali.availability.idle-minutes:60}") long idleMinutes) {
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.idleMillis = idleMinutes * 60 * 1000;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // 좌석별 비트 복사본. 좌석 n 의 비트는 [(n-1) * WORDS_PER_SEAT, n * WORDS_PER_SEAT)
+    public long[] snapshot(Long roomId, LocalDate date) {
+        AtomicLongArray bits = grid(roomId, date).bits;
+        long[] copy = new long[bits.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = bits.get(i);
+        }
+        return copy;
+    }
+
+    // [fromSlot, toSlot) 슬롯이 모두 비어 있는 좌석 번호
+    public List<Integer> freeSeats(Long roomId, LocalDate date, int fromSlot, int toSlot) {
+        long[] mask = new long[WORDS_PER_SEAT];
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            mask[slot >>> 6] |= 1L << (slot & 63);
+        }
+        DayGrid grid = grid(roomId, date);
+        List<Integer> free = new ArrayList<>();
+        for (int seat = 1; seat <= grid.seats; seat++) {
+            int base = (seat - 1) * WORDS_PER_SEAT;
+            boolean busy = false;
+            for (int w = 0; w < WORDS_PER_SEAT && !busy; w++) {
+                busy = (grid.bits.get(base + w) & mask[w]) != 0;
+            }
+            if (!busy) {
+                free.add(seat);
+            }
+        }
+        return free;
+    }
+
+    // from 이후(해당 슬롯 포함) 빈 좌석이 하나라도 있는 첫 슬롯의 시작 시각. 오늘과 다음 날까지만 확인
+    public LocalDateTime nextFreeSlot(Long roomId, LocalDateTime from) {
+        LocalDate date = from.toLocalDate();
+        int startSlot = (from.getHour() * 60 + from.getMinute()) / SLOT_MINUTES;
+        for (int day = 0; day < 2; day++, date = date.plusDays(1), startSlot = 0) {
+            DayGrid grid = grid(roomId, date);
+            for (int slot = startSlot; slot < SLOTS_PER_DAY; slot++) {
+                if (grid.hasFreeSeat(slot)) {
+                    return date.atStartOfDay().plusMinutes((long) slot * SLOT_MINUTES);
+                }
+            }
+        }
+        return null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatChanged(SeatChangedEvent event) {
+        LocalDate day = event.getStartTime().toLocalDate();
+        LocalDate last = event.getEndTime().minusNanos(1).toLocalDate();
+        for (; !day.isAfter(last); day = day.plusDays(1)) {
+            GridKey key = new GridKey(event.getRoomId(), day);
+            // 적재 쪽은 버퍼 적용 -> 격자 공개 -> 버퍼 닫기를 키 단위로 원자적으로 하므로,
+            // 버퍼에 들어가면 공개 전에 적용되고 버퍼가 이미 닫혔으면 공개된 격자에 직접 반영됨
+            loading.computeIfPresent(key, (k, changes) -> {
+                changes.add(event);
+                return changes;
+            });
+            DayGrid grid = grids.get(key);
+            if (grid != null && !apply(key, grid, event)) {
+                grids.remove(key, grid);
+            }
+        }
+    }
+
+    // 오래 조회되지 않았거나 지난 날짜의 격자 정리
+    @Scheduled(fixedDelayString = "${sejali.availability.evict-interval-ms:300000}")
+    public void evict() {
+        long now = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        grids.entrySet().removeIf(entry -> entry.getKey().date().isBefore(today)
+                || now - entry.getValue().lastAccess > idleMillis);
+    }
+
+    private DayGrid grid(Long roomId, LocalDate date) {
+        GridKey key = new GridKey(roomId, date);
+        DayGrid grid = grids.get(key);
+        if (grid == null) {
+            grid = load(key);
+        }
+        grid.lastAccess = System.currentTimeMillis();
+        return grid;
+    }
+
+    // 같은 격자 적재는 스트라이프 락으로 직렬화 (이벤트 반영 경로는 락을 잡지 않음)
+    private DayGrid load(GridKey key) {
+        ReentrantLock lock = locks[key.hashCode() & (STRIPES - 1)];
+        lock.lock();
+        try {
+            DayGrid loaded = grids.get(key);
+            return loaded != null ? loaded : build(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private DayGrid build(GridKey key) {
+        Room room = roomRepository.findById(key.roomId())
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 실습실입니다."));
+        loading.put(key, new ArrayList<>());
+
+        DayGrid grid = new DayGrid(room.getSeats());
+        LocalDateTime from = key.date().atStartOfDay();
+        try {
+            for (ReservationSlot slot : reservationRepository.findRoomSlotsOverlapping(key.roomId(), from, from.plusDays(1))) {
+                grid.set(slot.getSeatNum(), slotFrom(key.date(), slot.getStartTime()), slotTo(key.date(), slot.getEndTime()), true);
+            }
+        } catch (RuntimeException e) {
+            loading.remove(key);
+            throw e;
+        }
+        // 적재 중 들어온 변경을 순서대로 적용한 뒤에 공개. 공개 후 들어온 더 새로운 변경을
+        // 오래된 버퍼 내용이 덮어쓰지 않음 (버퍼에 든 변경이 조회 결과에 이미 반영되어 있어도 다시 적용하면 같은 결과)
+        boolean[] valid = {true};
+        loading.compute(key, (k, changes) -> {
+            if (changes != null) {
+                for (SeatChangedEvent event : changes) {
+                    valid[0] &= apply(key, grid, event);
+                }
+            }
+            if (valid[0]) {
+                grids.put(key, grid);
+            }
+            return null;
+        });
+        // 다시 적재해야 하는 격자는 공개하지 않고 이번 조회에만 사용 (취소를 반영하지 못해 빈 좌석이 적게 보일 뿐)
+        return grid;
+    }
+
+    // 반영하지 못해 격자를 다시 적재해야 하면 false
+    private static boolean apply(GridKey key, DayGrid grid, SeatChangedEvent event) {
+        int from = slotFrom(key.date(), event.getStartTime());
+        int to = slotTo(key.date(), event.getEndTime());
+        if (event.isBooked()) {
+            grid.set(event.getSeatNum(), from, to, true);
+            return true;
+        }
+        if (isAligned(event.getStartTime()) && isAligned(event.getEndTime())) {
+            grid.set(event.getSeatNum(), from, to, false);
+            return true;
+        }
+        // 슬롯 경계에 맞지 않는 예약 취소는 같은 슬롯의 다른 예약까지 지울 수 있으므로 다시 적재
+        return false;
+    }
+
+    // 그날 범위로 자른 시작 슬롯 (포함)
+    private static int slotFrom(LocalDate date, LocalDateTime start) {
+        if (start.toLocalDate().isBefore(date)) {
+            return 0;
+        }
+        return (start.getHour() * 60 + start.getMinute()) / SLOT_MINUTES;
+    }
+
+    // 그날 범위로 자른 끝 슬롯 (제외). 걸치기만 한 슬롯도 점유로 봄
+    private static int slotTo(LocalDate date, LocalDateTime end) {
+        if (end.toLocalDate().isAfter(date)) {
+            return SLOTS_PER_DAY;
+        }
+        int minutes = end.getHour() * 60 + end.getMinute() + (end.getSecond() > 0 || end.getNano() > 0 ? 1 : 0);
+        return (minutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+
+    private static boolean isAligned(LocalDateTime time) {
+        return time.getMinute() % SLOT_MINUTES == 0 && time.getSecond() == 0 && time.getNano() == 0;
+    }
+
+    private record GridKey(Long roomId, LocalDate date) {
+    }
+
+    private static final class DayGrid {
+        private final int seats;
+        private final AtomicLongArray bits;
+        private volatile long lastAccess;
+
+        private DayGrid(int seats) {
+            this.seats = seats;
+            this.bits = new AtomicLongArray(seats * WORDS_PER_SEAT);
+        }
+
+        private boolean hasFreeSeat(int slot) {
+            long bit = 1L << (slot & 63);
+            for (int seat = 0; seat < seats; seat++) {
+                if ((bits.get(seat * WORDS_PER_SEAT + (slot >>> 6)) & bit) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void set(int seatNum, int from, int to, boolean busy) {
+            if (seatNum < 1 || seatNum > seats) {
+                return;
+            }
+            int base = (seatNum - 1) * WORDS_PER_SEAT;
+            for (int w = 0; w < WORDS_PER_SEAT; w++) {
+                int lo = Math.max(from, w * 64);
+                int hi = Math.min(to, (w + 1) * 64);
+                if (lo >= hi) {
+                    continue;
+                }
+                long mask = (hi - lo == 64 ? -1L : ((1L << (hi - lo)) - 1)) << (lo - w * 64);
+                if (busy) {
+                    bits.getAndUpdate(base + w, word -> word | mask);
+                } else {
+                    bits.getAndUpdate(base + w, word -> word & ~mask);
+                }
+            }
+        }
+    }
+}
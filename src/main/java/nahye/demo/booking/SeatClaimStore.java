@@ -0,0 +1,30 @@
+package nahye.demo.booking;
+
+import nahye.demo.entity.Room;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 좌석 점유와 남은 좌석 카운터를 함께 관리하는 저장소.
+ * sejali.booking.claim-store 값으로 구현을 선택합니다. (local: 단일 노드 메모리 인덱스, redis: 클러스터 공용 Lua 스크립트)
+ */
+public interface SeatClaimStore {
+
+    // 예약 트랜잭션 안에서 호출. 좌석이 비어 있고 남은 좌석이 있으면 점유
+    ClaimResult claim(Room room, int seatNum, LocalDateTime start, LocalDateTime end);
+
+    // 단체 예약용. 여러 좌석을 한 번에 점유하며 하나라도 실패하면 아무것도 점유하지 않음
+    ClaimResult claimAll(Room room, List<Integer> seatNums, LocalDateTime start, LocalDateTime end);
+
+    // 예약 트랜잭션이 롤백된 뒤 호출. claim 결과를 되돌림
+    void abort(Room room, int seatNum, LocalDateTime start, LocalDateTime end);
+
+    // 취소 커밋 이후(또는 만료 시) 호출. 좌석을 비우고 남은 좌석 수 복구
+    void release(Room room, int seatNum, LocalDateTime start, LocalDateTime end);
+
+    // 실습실별 현재 남은 좌석 수 (이 방식이 기준으로 쓰는 값. 없는 실습실은 빠짐)
+    Map<Long, Integer> remainingSeats(Collection<Long> roomIds);
+}
@@ -0,0 +1,44 @@
+package nahye.demo.booking;
+
+import nahye.demo.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 예약 트랜잭션과 따로 커밋되는 남은 좌석 감소(optimistic/queued)의 보상.
+ * 예약 트랜잭션이 커밋되지 않으면 끝난 직후, 기다리다 포기한 감소는 나중에 커밋되는 대로 별도 트랜잭션에서 다시 늘립니다.
+ */
+final class SeatCountCompensation {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatCountCompensation.class);
+
+    private SeatCountCompensation() {
+    }
+
+    // 호출한 트랜잭션이 커밋되지 않으면 되돌림 (트랜잭션 밖에서 호출했으면 감소 자체가 최종 결과)
+    static void restoreOnRollback(RoomRepository roomRepository, Long roomId, int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    restore(roomRepository, roomId, count);
+                }
+            }
+        });
+    }
+
+    static void restore(RoomRepository roomRepository, Long roomId, int count) {
+        try {
+            if (roomRepository.incrementRemainingSeatsBy(roomId, count) == 0) {
+                logger.warn("남은 좌석 복구 대상 없음 (이미 전체 좌석 수): roomId={}, count={}", roomId, count);
+            }
+        } catch (RuntimeException e) {
+            logger.error("남은 좌석 복구 실패: roomId={}, count={}", roomId, count, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package nahye.demo.booking;
+
+/**
+ * rooms.remaining_seats 감소 방식. 배포마다 sejali.booking.seat-counter 로 고릅니다 (claim-store=local 에서 사용).
+ * atomic(기본): 조건부 UPDATE 한 번. 예약 트랜잭션에 포함됨
+ * optimistic: @Version 으로 읽고-수정-저장, 충돌하면 정해진 횟수만큼 별도 트랜잭션으로 재시도
+ * pessimistic: SELECT ... FOR UPDATE 로 행을 잠근 뒤 수정. 잠금은 예약 트랜잭션이 끝날 때까지 유지
+ * queued: 실습실마다 쓰기 스레드 하나가 밀린 감소 요청을 모아 UPDATE 한 번으로 처리
+ * optimistic/queued 는 감소를 예약 트랜잭션과 따로 커밋하므로, 예약 트랜잭션이 커밋되지 않으면 감소한 쪽이 직접 되돌립니다.
+ * 또 예약 트랜잭션이 커넥션을 잡은 채로 감소 트랜잭션이 커넥션을 하나 더 얻어야 하므로
+ * 풀 크기는 동시에 열리는 예약 트랜잭션 수보다 커야 합니다 (queued 는 기다리는 시간에 상한이 있어 풀이 모자라면 503).
+ */
+public interface SeatCounter {
+
+    // 남은 좌석이 count 이상이면 줄이고 true. 호출한 트랜잭션이 롤백되면 감소도 되돌려짐.
+    // 경합으로 처리하지 못하면 IllegalStateException, 처리가 지연되면 RejectedExecutionException
+    boolean tryDecrement(Long roomId, int count);
+}
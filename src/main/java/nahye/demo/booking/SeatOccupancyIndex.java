@@ -0,0 +1,111 @@
+package nahye.demo.booking;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 실습실별 좌석 점유 인덱스 (JVM 메모리).
+ * 좌석마다 시작시각 -> 종료시각 TreeMap 을 두어 겹침 검사를 O(log n) 으로 처리하고,
+ * 실습실 단위로 나눈 스트라이프 락으로 같은 실습실에 대한 동시 예약만 직렬화합니다.
+ */
+@Component
+public class SeatOccupancyIndex {
+
+    private static final int STRIPES = 64; // 2의 거듭제곱
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<Long, RoomOccupancy> rooms = new ConcurrentHashMap<>();
+
+    public SeatOccupancyIndex() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // 겹치는 예약이 없으면 점유하고 true, 있으면 false
+    public boolean claim(Long roomId, int seatCount, int seatNum, LocalDateTime start, LocalDateTime end) {
+        long from = toKey(start);
+        long to = toKey(end);
+        ReentrantLock lock = lockFor(roomId);
+        lock.lock();
+        try {
+            TreeMap<Long, Long> seat = room(roomId, seatCount).seat(seatNum);
+            if (overlaps(seat, from, to)) {
+                return false;
+            }
+            seat.put(from, to);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isFree(Long roomId, int seatCount, int seatNum, LocalDateTime start, LocalDateTime end) {
+        ReentrantLock lock = lockFor(roomId);
+        lock.lock();
+        try {
+            return !overlaps(room(roomId, seatCount).seat(seatNum), toKey(start), toKey(end));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(Long roomId, int seatNum, LocalDateTime start) {
+        RoomOccupancy occupancy = rooms.get(roomId);
+        if (occupancy == null) {
+            return;
+        }
+        ReentrantLock lock = lockFor(roomId);
+        lock.lock();
+        try {
+            occupancy.seat(seatNum).remove(toKey(start));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean overlaps(TreeMap<Long, Long> seat, long from, long to) {
+        Map.Entry<Long, Long> before = seat.floorEntry(from);
+        if (before != null && before.getValue() > from) {
+            return true;
+        }
+        Long next = seat.higherKey(from);
+        return next != null && next < to;
+    }
+
+    private RoomOccupancy room(Long roomId, int seatCount) {
+        return rooms.computeIfAbsent(roomId, id -> new RoomOccupancy(seatCount));
+    }
+
+    private ReentrantLock lockFor(Long roomId) {
+        return locks[Long.hashCode(roomId) & (STRIPES - 1)];
+    }
+
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static final class RoomOccupancy {
+        private final TreeMap<Long, Long>[] seats;
+
+        @SuppressWarnings("unchecked")
+        private RoomOccupancy(int seatCount) {
+            this.seats = new TreeMap[seatCount + 1]; // 좌석 번호는 1부터
+        }
+
+        private TreeMap<Long, Long> seat(int seatNum) {
+            TreeMap<Long, Long> seat = seats[seatNum];
+            if (seat == null) {
+                seat = new TreeMap<>();
+                seats[seatNum] = seat;
+            }
+            return seat;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package nahye.demo.booking;
+
+import jakarta.annotation.PostConstruct;
+import nahye.demo.dto.queue.QueueStatusResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 인기 실습실 예약 오픈 시 사용하는 대기열 (Redis).
+ * 실습실마다 INCR 순번을 점수로 하는 정렬 집합에 사용자를 넣어 FIFO 순서를 보장하고,
+ * 주기마다 한 노드만 앞에서부터 batch-size 명을 꺼내 입장 티켓을 발급합니다.
+ * 대기열이 열린 실습실은 입장 티켓이 있어야만 예약할 수 있고, 티켓은 예약 전에 원자적으로 사용 처리되므로
+ * 같은 티켓으로 동시에 들어온 요청 중 하나만 예약을 시도합니다 (예약이 실패하면 티켓 복구).
+ * 상태는 모두 Redis 에 있으므로 노드가 재시작되어도 순서가 유지됩니다.
+ */
+@Component
+public class WaitingRoomQueue {
+
+    private static final String ACTIVE_ROOMS = "queue:rooms";
+
+    // KEYS[1]: 대기 정렬 집합, KEYS[2]: 순번, KEYS[3]: 사용자 -> 대기 티켓 해시,
+    // KEYS[4]: 사용자 -> 입장 티켓 해시, KEYS[5]: 사용자 -> 입장 만료 시각 정렬 집합
+    // ARGV[1]: 사용자 id, ARGV[2]: 새 티켓, ARGV[3]: 현재 시각(ms)
+    // 반환: {티켓, 순번}. 이미 입장했으면 순번 -1
+    private static final RedisScript<List> ENTER_SCRIPT = new DefaultRedisScript<>("""
+            local expires = redis.call('ZSCORE', KEYS[5], ARGV[1])
+            if expires and tonumber(expires) > tonumber(ARGV[3]) then
+                return {redis.call('HGET', KEYS[4], ARGV[1]), -1}
+            end
+            local rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+            if rank then
+                return {redis.call('HGET', KEYS[3], ARGV[1]), rank}
+            end
+            local seq = redis.call('INCR', KEYS[2])
+            redis.call('ZADD', KEYS[1], seq, ARGV[1])
+            redis.call('HSET', KEYS[3], ARGV[1], ARGV[2])
+            return {ARGV[2], redis.call('ZRANK', KEYS[1], ARGV[1])}
+            """, List.class);
+
+    // KEYS[1]: 대기 정렬 집합, KEYS[2]: 대기 티켓 해시, KEYS[3]: 입장 주기 락,
+    // KEYS[4]: 입장 티켓 해시, KEYS[5]: 입장 만료 시각 정렬 집합
+    // ARGV[1]: 한 번에 입장시킬 인원, ARGV[2]: 락 유지 시간(ms), ARGV[3]: 현재 시각(ms), ARGV[4]: 입장 유효 시간(ms)
+    // 입장 상태를 사용자별 키 대신 실습실별 해시/정렬 집합에 두므로 스크립트가 쓰는 키를 모두 KEYS 로 받음 (클러스터 호환)
+    private static final RedisScript<Long> ADMIT_SCRIPT = new DefaultRedisScript<>("""
+            if not redis.call('SET', KEYS[3], '1', 'NX', 'PX', ARGV[2]) then
+                return 0
+            end
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[5], '-inf', ARGV[3])
+            for i = 1, #expired do
+                redis.call('HDEL', KEYS[4], expired[i])
+            end
+            redis.call('ZREMRANGEBYSCORE', KEYS[5], '-inf', ARGV[3])
+            local expiresAt = tonumber(ARGV[3]) + tonumber(ARGV[4])
+            local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1])
+            for i = 1, #popped, 2 do
+                local ticket = redis.call('HGET', KEYS[2], popped[i])
+                if ticket then
+                    redis.call('HDEL', KEYS[2], popped[i])
+                    redis.call('HSET', KEYS[4], popped[i], ticket)
+                    redis.call('ZADD', KEYS[5], expiresAt, popped[i])
+                end
+            end
+            return #popped / 2
+            """, Long.class);
+
+    // KEYS[1]: 입장 티켓 해시, KEYS[2]: 입장 만료 시각 정렬 집합
+    // ARGV[1]: 사용자 id, ARGV[2]: 티켓, ARGV[3]: 현재 시각(ms)
+    // 반환: 사용한 입장의 만료 시각(ms). 티켓이 맞지 않거나 만료되었으면 -1
+    // 확인과 삭제를 한 번에 하므로 같은 티켓으로 동시에 들어온 요청 중 하나만 성공
+    private static final RedisScript<Long> CONSUME_SCRIPT = new DefaultRedisScript<>("""
+            local expires = redis.call('ZSCORE', KEYS[2], ARGV[1])
+            if not expires or tonumber(expires) <= tonumber(ARGV[3])
+                    or redis.call('HGET', KEYS[1], ARGV[1]) ~= ARGV[2] then
+                return -1
+            end
+            redis.call('HDEL', KEYS[1], ARGV[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return tonumber(expires)
+            """, Long.class);
+
+    // KEYS[1]: 입장 티켓 해시, KEYS[2]: 입장 만료 시각 정렬 집합
+    // ARGV[1]: 사용자 id, ARGV[2]: 티켓, ARGV[3]: 만료 시각(ms), ARGV[4]: 현재 시각(ms)
+    // 그사이 새로 입장했으면 새 입장을 유지
+    private static final RedisScript<Long> RESTORE_SCRIPT = new DefaultRedisScript<>("""
+            if tonumber(ARGV[3]) <= tonumber(ARGV[4]) or redis.call('HSETNX', KEYS[1], ARGV[1], ARGV[2]) == 0 then
+                return 0
+            end
+            redis.call('ZADD', KEYS[2], ARGV[3], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int batchSize;
+    private final long intervalMs;
+    private final long admissionTtlMs;
+
+    // 대기열이 열린 실습실 id (주기마다 Redis 에서 갱신). 열리지 않은 실습실 예약은 Redis 조회 없이 통과
+    private volatile Set<Long> activeRooms = Set.of();
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitingRoomQueue.class);
+
+    public WaitingRoomQueue(RedisTemplate<String, String> redisTemplate,
+                            @Value("${sejali.queue.batch-size:50}") int batchSize,
+                            @Value("${sejali.queue.interval-ms:1000}") long intervalMs,
+                            @Value("${sejali.queue.admission-ttl-seconds:300}") long admissionTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.batchSize = batchSize;
+        this.intervalMs = intervalMs;
+        this.admissionTtlMs = TimeUnit.SECONDS.toMillis(admissionTtlSeconds);
+    }
+
+    @PostConstruct
+    public void init() {
+        refreshActiveRooms();
+    }
+
+    public void open(Long roomId) {
+        redisTemplate.opsForSet().add(ACTIVE_ROOMS, String.valueOf(roomId));
+        activeRooms = union(activeRooms, roomId);
+    }
+
+    // 대기열을 닫으면 대기 중인 사용자와 입장 상태도 함께 정리 (닫힌 실습실은 티켓 없이 예약 가능)
+    public void close(Long roomId) {
+        redisTemplate.opsForSet().remove(ACTIVE_ROOMS, String.valueOf(roomId));
+        redisTemplate.delete(List.of(waitingKey(roomId), sequenceKey(roomId), ticketsKey(roomId),
+                admittedKey(roomId), admittedExpiryKey(roomId)));
+        activeRooms = activeRooms.stream().filter(id -> !id.equals(roomId)).collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean isActive(Long roomId) {
+        return activeRooms.contains(roomId);
+    }
+
+    public QueueStatusResponse enter(Long roomId, String userId) {
+        if (!isActive(roomId)) {
+            throw new IllegalArgumentException("대기열이 열려 있지 않은 실습실입니다.");
+        }
+        List<?> result = redisTemplate.execute(ENTER_SCRIPT,
+                List.of(waitingKey(roomId), sequenceKey(roomId), ticketsKey(roomId),
+                        admittedKey(roomId), admittedExpiryKey(roomId)),
+                userId, UUID.randomUUID().toString(), String.valueOf(System.currentTimeMillis()));
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("대기열 등록 실패");
+        }
+        String ticket = String.valueOf(result.get(0));
+        long rank = ((Number) result.get(1)).longValue();
+        return rank < 0 ? admitted(roomId, ticket) : waiting(roomId, ticket, rank);
+    }
+
+    // 순번 조회는 ZRANK 한 번 (O(log n))
+    public QueueStatusResponse status(Long roomId, String userId) {
+        Double expires = redisTemplate.opsForZSet().score(admittedExpiryKey(roomId), userId);
+        if (expires != null && expires > System.currentTimeMillis()) {
+            return admitted(roomId, (String) redisTemplate.opsForHash().get(admittedKey(roomId), userId));
+        }
+        Long rank = redisTemplate.opsForZSet().rank(waitingKey(roomId), userId);
+        if (rank == null) {
+            throw new IllegalArgumentException("대기열에 등록되어 있지 않습니다.");
+        }
+        String ticket = (String) redisTemplate.opsForHash().get(ticketsKey(roomId), userId);
+        return waiting(roomId, ticket, rank);
+    }
+
+    /**
+     * 예약 전에 입장 티켓을 사용 처리 (한 번 입장에 예약 한 건).
+     * 대기열이 열리지 않은 실습실이면 Admission.NOT_REQUIRED, 티켓이 맞지 않으면 null.
+     * 예약이 실패하면 restore 로 되돌려야 함
+     */
+    public Admission consume(Long roomId, String userId, String ticket) {
+        if (!isActive(roomId)) {
+            return Admission.NOT_REQUIRED;
+        }
+        if (ticket == null) {
+            return null;
+        }
+        Long expiresAt = redisTemplate.execute(CONSUME_SCRIPT, List.of(admittedKey(roomId), admittedExpiryKey(roomId)),
+                userId, ticket, String.valueOf(System.currentTimeMillis()));
+        if (expiresAt == null || expiresAt < 0) {
+            return null;
+        }
+        return new Admission(roomId, userId, ticket, expiresAt);
+    }
+
+    // 예약 실패 시 사용한 입장을 남은 유효 시간 그대로 되돌림
+    public void restore(Admission admission) {
+        if (admission == null || admission.ticket() == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RESTORE_SCRIPT,
+                    List.of(admittedKey(admission.roomId()), admittedExpiryKey(admission.roomId())),
+                    admission.userId(), admission.ticket(), String.valueOf(admission.expiresAtMs()),
+                    String.valueOf(System.currentTimeMillis()));
+        } catch (Exception e) {
+            // 사용자는 다시 대기열에 등록해야 함
+            logger.warn("입장 티켓 복구 실패: roomId={}, userId={}", admission.roomId(), admission.userId(), e);
+        }
+    }
+
+    // 모든 노드가 실행하지만 실습실마다 주기당 한 노드만 락을 얻어 입장시키므로
+    // 노드 수와 무관하게 입장 속도는 batch-size / interval
+    @Scheduled(fixedDelayString = "${sejali.queue.interval-ms:1000}")
+    public void admit() {
+        refreshActiveRooms();
+        for (Long roomId : activeRooms) {
+            try {
+                redisTemplate.execute(ADMIT_SCRIPT,
+                        List.of(waitingKey(roomId), ticketsKey(roomId), tickKey(roomId),
+                                admittedKey(roomId), admittedExpiryKey(roomId)),
+                        String.valueOf(batchSize),
+                        String.valueOf(intervalMs),
+                        String.valueOf(System.currentTimeMillis()),
+                        String.valueOf(admissionTtlMs));
+            } catch (Exception e) {
+                logger.error("대기열 입장 처리 실패: roomId={}", roomId, e);
+            }
+        }
+    }
+
+    private void refreshActiveRooms() {
+        try {
+            Set<String> members = redisTemplate.opsForSet().members(ACTIVE_ROOMS);
+            activeRooms = members == null ? Set.of()
+                    : members.stream().map(Long::valueOf).collect(Collectors.toUnmodifiableSet());
+        } catch (Exception e) {
+            logger.warn("대기열 실습실 목록 갱신 실패", e);
+        }
+    }
+
+    private QueueStatusResponse waiting(Long roomId, String ticket, long rank) {
+        long waitMs = (rank / batchSize + 1) * intervalMs;
+        return new QueueStatusResponse(roomId, ticket, false, rank, waitMs);
+    }
+
+    private static QueueStatusResponse admitted(Long roomId, String ticket) {
+        return new QueueStatusResponse(roomId, ticket, true, null, 0L);
+    }
+
+    private static Set<Long> union(Set<Long> rooms, Long roomId) {
+        return Stream.concat(rooms.stream(), Stream.of(roomId))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // 해시 태그로 한 실습실의 대기열 키를 같은 클러스터 슬롯에 모음
+    private static String waitingKey(Long roomId) {
+        return "queue:{room:" + roomId + "}:waiting";
+    }
+
+    private static String sequenceKey(Long roomId) {
+        return "queue:{room:" + roomId + "}:seq";
+    }
+
+    private static String ticketsKey(Long roomId) {
+        return "queue:{room:" + roomId + "}:tickets";
+    }
+
+    private static String tickKey(Long roomId) {
+        return "queue:{room:" + roomId + "}:tick";
+    }
+
+    private static String admittedKey(Long roomId) {
+        return "queue:{room:" + roomId + "}:admitted";
+    }
+
+    private static String admittedExpiryKey(Long roomId) {
+        return "queue:{room:" + roomId + "}:admitted-until";
+    }
+
+    // 사용한 입장 (예약 실패 시 복구용). ticket 이 null 이면 대기열이 열리지 않은 실습실
+    public record Admission(Long roomId, String userId, String ticket, long expiresAtMs) {
+        public static final Admission NOT_REQUIRED = new Admission(null, null, null, 0L);
+    }
+}
@@ -0,0 +1,212 @@
+package nahye.demo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 2단 읽기 캐시. L1: 노드 메모리(Caffeine, 크기/TTL 제한), L2: 노드 간 공유 Redis("cache:{name:key}", JSON).
+ * 조회는 L1 -> L2 -> 원본(DB) 순서이며, 원본에서 읽은 값은 L2 와 L1 에 채웁니다.
+ * 무효화는 L2 삭제, 세대("cache:{name:key}:gen") 증가, pub/sub 발행을 스크립트 한 번으로 처리하고,
+ * 메시지를 받은 모든 노드가 L1 을 지웁니다.
+ * 원본 조회와 무효화가 겹쳐도 이전 값이 다시 채워지지 않도록, L2 에는 조회 전에 읽은 세대가 그대로일 때만 쓰고
+ * L1 에는 조회하는 동안 이 노드에 무효화가 없었을 때만 남깁니다.
+ * Redis 오류는 캐시가 없는 것처럼 처리해 원본으로 넘어갑니다 (세대를 모르면 L2 에 쓰지 않음).
+ *
+ * sejali.cache.requests: 조회 결과 (cache, result=l1_hit|l2_hit|miss)
+ * sejali.cache.errors: L2 읽기/쓰기/무효화 실패 (cache)
+ * L1 크기/축출은 Caffeine 지표(cache_size, cache_evictions 등, cache 태그)로 함께 등록됩니다.
+ */
+public class NearCache<V> implements MessageListener {
+
+    private static final String CHANNEL_PREFIX = "sejali:cache-invalidate:";
+
+    // KEYS[1]: L2 키, KEYS[2]: 세대 키, ARGV[1]: 채널, ARGV[2]: 캐시 키, ARGV[3]: 세대 TTL(ms)
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            return redis.call('PUBLISH', ARGV[1], ARGV[2])
+            """, Long.class);
+
+    // KEYS[1]: L2 키, KEYS[2]: 세대 키, ARGV[1]: 조회 전에 읽은 세대(없으면 ''), ARGV[2]: 값, ARGV[3]: TTL(ms)
+    // 그 사이 무효화가 있었으면 쓰지 않고 0
+    private static final RedisScript<Long> WRITE_SCRIPT = new DefaultRedisScript<>("""
+            local generation = redis.call('GET', KEYS[2]) or ''
+            if generation ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final String name;
+    private final Class<V> type;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final Duration remoteTtl;
+    private final Cache<String, V> local;
+    // 이 노드가 처리한 무효화 수. 조회 전후로 달라졌으면 방금 L1 에 넣은 값이 이전 값일 수 있음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    private static final Logger logger = LoggerFactory.getLogger(NearCache.class);
+
+    protected NearCache(String name, Class<V> type,
+                        RedisTemplate<String, String> redisTemplate,
+                        RedisMessageListenerContainer listenerContainer,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        long localMaxSize, Duration localTtl, Duration remoteTtl) {
+        this.name = name;
+        this.type = type;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.remoteTtl = remoteTtl;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name);
+        this.l1Hits = requests(meterRegistry, "l1_hit");
+        this.l2Hits = requests(meterRegistry, "l2_hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.errors = Counter.builder("sejali.cache.errors")
+                .description("L2(Redis) 캐시 접근 실패")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + name));
+    }
+
+    // 동시에 놓친 요청은 각자 원본을 읽음. 원본 조회를 L1 계산 안에서 하면 가상 스레드가 고정되므로 묶지 않음
+    public Optional<V> get(String key, Supplier<Optional<V>> loader) {
+        V value = local.getIfPresent(key);
+        if (value != null) {
+            l1Hits.increment();
+            return Optional.of(value);
+        }
+        long stamp = invalidations.get();
+        Remote<V> remote = readRemote(key);
+        if (remote != null && remote.value() != null) {
+            l2Hits.increment();
+            putLocal(key, remote.value(), stamp);
+            return Optional.of(remote.value());
+        }
+        misses.increment();
+        Optional<V> loaded = loader.get();
+        loaded.ifPresent(v -> {
+            // 세대를 모르면(L2 읽기 실패) L2 는 건너뛰고 L1 에만 채움
+            if (remote == null || writeRemote(key, v, remote.generation())) {
+                putLocal(key, v, stamp);
+            }
+        });
+        return loaded;
+    }
+
+    // 커밋 이후에 호출 (커밋 전에 지우면 이전 값이 다시 채워질 수 있음)
+    public void invalidate(String key) {
+        invalidations.incrementAndGet();
+        local.invalidate(key);
+        try {
+            redisTemplate.execute(INVALIDATE_SCRIPT, List.of(remoteKey(key), generationKey(key)),
+                    CHANNEL_PREFIX + name, key, String.valueOf(remoteTtl.toMillis()));
+        } catch (RuntimeException e) {
+            errors.increment();
+            logger.warn("캐시 무효화 실패: cache={}, key={}", name, key, e);
+        }
+    }
+
+    // 다른 노드(자기 자신 포함)의 무효화 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+        invalidations.incrementAndGet();
+        local.invalidate(key);
+    }
+
+    // 넣은 뒤에 무효화 수를 확인: 조회하는 동안 무효화가 있었으면 (다른 키였더라도) 넣은 값을 지움
+    private void putLocal(String key, V value, long stamp) {
+        local.put(key, value);
+        if (invalidations.get() != stamp) {
+            local.invalidate(key);
+        }
+    }
+
+    // 값과 세대를 한 번에 읽음 (같은 해시 태그라 클러스터에서도 한 슬롯). 실패하면 null
+    private Remote<V> readRemote(String key) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(remoteKey(key), generationKey(key)));
+            String json = values == null ? null : values.get(0);
+            String generation = values == null || values.get(1) == null ? "" : values.get(1);
+            return new Remote<>(json == null ? null : objectMapper.readValue(json, type), generation);
+        } catch (Exception e) {
+            errors.increment();
+            logger.debug("L2 캐시 읽기 실패: cache={}, key={}", name, key, e);
+            return null;
+        }
+    }
+
+    // 세대가 바뀌어 쓰지 않았으면 false, Redis 오류는 캐시가 없는 것처럼 true
+    private boolean writeRemote(String key, V value, String generation) {
+        try {
+            Long written = redisTemplate.execute(WRITE_SCRIPT, List.of(remoteKey(key), generationKey(key)),
+                    generation, objectMapper.writeValueAsString(value), String.valueOf(remoteTtl.toMillis()));
+            return written == null || written == 1L;
+        } catch (Exception e) {
+            errors.increment();
+            logger.debug("L2 캐시 쓰기 실패: cache={}, key={}", name, key, e);
+            return true;
+        }
+    }
+
+    private String remoteKey(String key) {
+        return "cache:{" + name + ":" + key + "}";
+    }
+
+    private String generationKey(String key) {
+        return remoteKey(key) + ":gen";
+    }
+
+    private record Remote<V>(V value, String generation) {
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("sejali.cache.requests")
+                .description("2단 캐시 조회 결과")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package nahye.demo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import nahye.demo.event.RoomChangedEvent;
+import nahye.demo.event.SeatChangedEvent;
+import nahye.demo.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * roomId -> RoomSummary 2단 캐시 (실습실 상세 조회). 남은 좌석 수는 캐시하지 않습니다 (RoomService 가 SeatClaimStore 에서 채움).
+ * 실습실 생성과 예약/취소가 커밋되면 그 노드가 무효화하고, 다른 노드는 무효화 메시지로 L1 을 지웁니다.
+ * 변경 피드로 다시 발행된 이벤트(remote)는 원래 노드가 이미 무효화했으므로 무시합니다.
+ * upcomingReservations 는 예약이 끝나는 시점에는 바뀌지 않으므로 TTL 만큼 늦게 줄어들 수 있습니다.
+ */
+@Component
+public class RoomCache extends NearCache<RoomSummary> {
+
+    private final RoomRepository roomRepository;
+
+    public RoomCache(RoomRepository roomRepository,
+                     RedisTemplate<String, String> redisTemplate,
+                     RedisMessageListenerContainer listenerContainer,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${sejali.cache.room.l1-size:1000}") long localMaxSize,
+                     @Value("${sejali.cache.room.l1-ttl-seconds:5}") long localTtlSeconds,
+                     @Value("${sejali.cache.room.l2-ttl-seconds:60}") long remoteTtlSeconds) {
+        super("room", RoomSummary.class, redisTemplate, listenerContainer, objectMapper, meterRegistry,
+                localMaxSize, Duration.ofSeconds(localTtlSeconds), Duration.ofSeconds(remoteTtlSeconds));
+        this.roomRepository = roomRepository;
+    }
+
+    public Optional<RoomSummary> find(Long roomId) {
+        return get(String.valueOf(roomId),
+                () -> roomRepository.findDetail(roomId, LocalDateTime.now()).map(RoomSummary::of));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (!event.isRemote()) {
+            invalidate(String.valueOf(event.getRoomId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatChanged(SeatChangedEvent event) {
+        if (!event.isRemote()) {
+            invalidate(String.valueOf(event.getRoomId()));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package nahye.demo.cache;
+
+import nahye.demo.dto.room.RoomDetailResponse;
+
+// 캐시에 두는 실습실 상세. 예약마다 바뀌는 remainingSeats 와 nextFreeSlot 은 조회할 때마다 채우므로 제외
+public record RoomSummary(Long id, String roomName, int seats, String roomImg, long upcomingReservations) {
+
+    public static RoomSummary of(RoomDetailResponse detail) {
+        return new RoomSummary(detail.getId(), detail.getRoomName(), detail.getSeats(), detail.getRoomImg(),
+                detail.getUpcomingReservations());
+    }
+
+    public RoomDetailResponse toDetail(int remainingSeats) {
+        return new RoomDetailResponse(id, roomName, seats, remainingSeats, roomImg, upcomingReservations);
+    }
+}
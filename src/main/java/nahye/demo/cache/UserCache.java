@@ -0,0 +1,39 @@
+package nahye.demo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import nahye.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * userId -> UserSummary 2단 캐시.
+ * 로그인/토큰 재발급/예약/실습실 생성의 사용자 조회를 대신하며, 사용자 정보가 바뀌면(updateUser) 커밋 후 무효화합니다.
+ */
+@Component
+public class UserCache extends NearCache<UserSummary> {
+
+    private final UserRepository userRepository;
+
+    public UserCache(UserRepository userRepository,
+                     RedisTemplate<String, String> redisTemplate,
+                     RedisMessageListenerContainer listenerContainer,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${sejali.cache.user.l1-size:10000}") long localMaxSize,
+                     @Value("${sejali.cache.user.l1-ttl-seconds:30}") long localTtlSeconds,
+                     @Value("${sejali.cache.user.l2-ttl-seconds:600}") long remoteTtlSeconds) {
+        super("user", UserSummary.class, redisTemplate, listenerContainer, objectMapper, meterRegistry,
+                localMaxSize, Duration.ofSeconds(localTtlSeconds), Duration.ofSeconds(remoteTtlSeconds));
+        this.userRepository = userRepository;
+    }
+
+    public Optional<UserSummary> find(String userId) {
+        return get(userId, () -> userRepository.findByUserId(userId).map(UserSummary::of));
+    }
+}
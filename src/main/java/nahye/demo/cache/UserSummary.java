@@ -0,0 +1,14 @@
+package nahye.demo.cache;
+
+import nahye.demo.entity.User;
+import nahye.demo.enums.AuthLevel;
+
+// 캐시에 두는 사용자 정보 (비밀번호 해시는 제외). 연관관계가 필요하면 getReferenceById(id) 로 조회 없이 참조
+public record UserSummary(Long id, String userId, String username, int studentNum,
+                          AuthLevel authLevel) {
+
+    public static UserSummary of(User user) {
+        return new UserSummary(user.getId(), user.getUserId(), user.getUsername(), user.getStudentNum(),
+                user.getAuthLevel());
+    }
+}
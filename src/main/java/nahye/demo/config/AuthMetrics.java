@@ -0,0 +1,75 @@
+package nahye.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * 로그인/토큰 재발급 시간 측정.
+ * sejali.auth.requests 는 전체 시간(flow, outcome), sejali.auth.stage 는 단계별 시간(flow, stage)입니다.
+ * 단계: user_lookup(로그인: UserCache 로 없는 사용자 거르기, 재발급: 권한을 읽는 사용자 DB 조회),
+ * authenticate(사용자 DB 조회 + BCrypt), sign(JWT 서명),
+ * redis 또는 db(RT 저장소).
+ * BCrypt 자체 시간은 BoundedPasswordEncoder 가 sejali.auth.bcrypt 로 따로 기록합니다.
+ */
+@Component
+public class AuthMetrics {
+
+    public static final String LOGIN = "login";
+    public static final String REFRESH = "refresh";
+
+    public static final String USER_LOOKUP = "user_lookup";
+    public static final String AUTHENTICATE = "authenticate";
+    public static final String SIGN = "sign";
+    public static final String DB = "db";
+
+    private final MeterRegistry meterRegistry;
+    private final String tokenStoreStage;
+
+    public AuthMetrics(MeterRegistry meterRegistry,
+                       @Value("${sejali.refresh-token.store:redis}") String refreshTokenStore) {
+        this.meterRegistry = meterRegistry;
+        this.tokenStoreStage = "jpa".equals(refreshTokenStore) ? DB : "redis";
+    }
+
+    public <T> T time(String flow, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } catch (IllegalArgumentException | IllegalStateException | AuthenticationException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("sejali.auth.requests")
+                    .description("로그인/토큰 재발급 전체 시간")
+                    .tag("flow", flow)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T stage(String flow, String stage, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return work.get();
+        } finally {
+            sample.stop(Timer.builder("sejali.auth.stage")
+                    .description("로그인/토큰 재발급 단계별 시간")
+                    .tag("flow", flow)
+                    .tag("stage", stage)
+                    .register(meterRegistry));
+        }
+    }
+
+    // RT 저장소 단계 (sejali.refresh-token.store 에 따라 redis 또는 db)
+    public <T> T tokenStore(String flow, Supplier<T> work) {
+        return stage(flow, tokenStoreStage, work);
+    }
+}
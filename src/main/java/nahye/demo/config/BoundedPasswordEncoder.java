@@ -0,0 +1,121 @@
+package nahye.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BCrypt 해시/검증을 전용 스레드 풀에서 실행하는 PasswordEncoder.
+ * 풀과 대기열 크기를 제한해 로그인 폭주가 요청 스레드를 모두 잡아먹지 않게 하고,
+ * 대기열이 가득 차면 기다리지 않고 RejectedExecutionException 으로 바로 거절합니다.
+ * 해시 계산 시간(sejali.auth.bcrypt)과 대기열에서 기다린 시간(sejali.auth.bcrypt.wait)을 따로 기록합니다.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer waitTimer;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity) {
+        this(strength, threads, queueCapacity, new SimpleMeterRegistry());
+    }
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.encodeTimer = Timer.builder("sejali.auth.bcrypt").tag("op", "encode")
+                .description("BCrypt 해시 계산 시간 (대기 제외)").register(meterRegistry);
+        this.matchTimer = Timer.builder("sejali.auth.bcrypt").tag("op", "matches")
+                .description("BCrypt 해시 계산 시간 (대기 제외)").register(meterRegistry);
+        this.waitTimer = Timer.builder("sejali.auth.bcrypt.wait")
+                .description("BCrypt 풀 대기열에서 기다린 시간").register(meterRegistry);
+        this.delegate = new BCryptPasswordEncoder(strength);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(matchTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // 저장된 해시의 cost 가 설정값보다 낮으면 true -> 로그인 성공 시 다시 해시 (UserDetailsPasswordService)
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private <T> T call(Timer timer, Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RejectedExecutionException("비밀번호 처리 대기열이 가득 찼습니다.", e);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,52 @@
+package nahye.demo.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커넥션 풀 앞단의 동시성 제한.
+ * 가상 스레드는 사실상 무제한으로 만들어지므로, 풀 크기만큼만 통과시키고
+ * 대기자가 너무 많거나 오래 기다리면 바로 실패시켜 풀 내부 대기열이 폭주하지 않게 합니다.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long timeoutMillis;
+
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting, long timeoutMillis) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaiting = maxWaiting;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean tryAcquire() {
+        if (permits.getQueueLength() >= maxWaiting) {
+            return false;
+        }
+        try {
+            return permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+}
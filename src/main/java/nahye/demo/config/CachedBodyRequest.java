@@ -0,0 +1,95 @@
+package nahye.demo.config;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 본문을 한 번 읽어 두고 이후 필터/컨트롤러가 다시 읽을 수 있게 하는 요청 래퍼.
+ * 필터가 본문을 보고 판단해야 할 때(요청 제한의 사용자 키, 멱등 키의 요청 지문) 사용합니다.
+ */
+public final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+        super(request);
+        this.body = body;
+    }
+
+    /**
+     * 이미 감싼 요청이면 그대로, 본문이 maxBytes 보다 크면 null (호출한 쪽에서 413).
+     * Content-Length 를 믿지 않고 최대 maxBytes + 1 바이트만 읽으므로 chunked 요청도 크기가 제한됩니다.
+     * null 이면 본문 일부를 이미 읽었을 수 있으므로 원래 요청을 다음으로 넘기면 안 됩니다.
+     */
+    public static CachedBodyRequest of(HttpServletRequest request, int maxBytes) throws IOException {
+        if (request instanceof CachedBodyRequest cached) {
+            return cached;
+        }
+        if (request.getContentLengthLong() > maxBytes) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+        return body.length > maxBytes ? null : new CachedBodyRequest(request, body);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            // 본문이 이미 메모리에 있으므로 바로 읽을 수 있고, 다 읽었으면 끝났다고 알림
+            @Override
+            public void setReadListener(ReadListener listener) {
+                try {
+                    if (!isFinished()) {
+                        listener.onDataAvailable();
+                    }
+                    if (isFinished()) {
+                        listener.onAllDataRead();
+                    }
+                } catch (IOException e) {
+                    listener.onError(e);
+                }
+            }
+
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return in.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+    }
+}
@@ -3,12 +3,13 @@ package nahye.demo.config;
 import nahye.demo.entity.User;
 import nahye.demo.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     public CustomUserDetailsService(UserRepository userRepository) {
@@ -26,4 +27,17 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .authorities(user.getAuthLevel().toString())
                 .build();
     }
+
+    // 로그인 성공 후 저장된 해시의 cost 가 설정값보다 낮을 때 DaoAuthenticationProvider 가 호출 (rehash-on-login)
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUserId(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
 }
@@ -0,0 +1,44 @@
+package nahye.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import nahye.demo.entity.IdGeneration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate JDBC 배치 설정.
+ * 같은 테이블 INSERT/UPDATE 를 모아 batch-size 개씩 한 번에 보내고,
+ * MySQL 드라이버가 배치를 실제로 multi-row INSERT 한 문장으로 보내도록 rewriteBatchedStatements 를 켭니다.
+ */
+@Configuration
+public class JpaBatchConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(
+            @Value("${sejali.jpa.batch-size:" + IdGeneration.ALLOCATION_SIZE + "}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+        };
+    }
+
+    // 풀이 시작되기 전(초기화 전)에 드라이버 속성을 넣어야 하므로 static BeanPostProcessor
+    @Bean
+    public static BeanPostProcessor rewriteBatchedStatementsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari
+                        && !hikari.getDataSourceProperties().containsKey("rewriteBatchedStatements")) {
+                    hikari.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package nahye.demo.config;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import nahye.demo.entity.RefreshToken;
+import nahye.demo.repository.RefreshTokenRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * MySQL 리프레시 토큰 저장소 (sejali.refresh-token.store=jpa).
+ * Redis 를 쓸 수 없는 환경용이며, 토큰 원문 대신 해시를 키로 저장합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sejali.refresh-token.store", havingValue = "jpa")
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenBlacklist tokenBlacklist;
+    private final SessionRevocation sessionRevocation;
+
+    @Override
+    @Transactional
+    public String issue(String userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+        return save(userId);
+    }
+
+    // 재사용 감지 시 던지는 예외로 세션 폐기(deleteByUserId)까지 롤백되지 않도록 함
+    @Override
+    @Transactional(dontRollbackOn = IllegalStateException.class)
+    public RefreshTokenRotation rotate(String refreshToken) {
+        String userId = subjectOf(refreshToken);
+
+        // 조회 없이 바로 삭제해 보고, 지워진 행이 없으면 저장된 토큰이 아님
+        if (refreshTokenRepository.deleteByToken(JwtTokenProvider.tokenHash(refreshToken)) == 0) {
+            // 서명은 유효하지만 저장된 토큰이 아님 -> 재사용으로 보고 세션 폐기
+            refreshTokenRepository.deleteByUserId(userId);
+            throw new IllegalStateException("이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+        }
+
+        return new RefreshTokenRotation(userId, save(userId));
+    }
+
+    @Override
+    @Transactional
+    public boolean logout(VerifiedToken accessToken, long accessTtlMillis, String refreshToken) {
+        tokenBlacklist.revoke(accessToken.getJti(), accessTtlMillis);
+        return refreshTokenRepository.deleteByToken(JwtTokenProvider.tokenHash(refreshToken)) > 0;
+    }
+
+    // not-before 는 저장소와 상관없이 Redis 에 둠 (블랙리스트와 같은 이유로 노드 간 공유 필요)
+    @Override
+    @Transactional
+    public void revokeAll(String userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+        sessionRevocation.revokeAll(userId);
+    }
+
+    private String save(String userId) {
+        String refreshToken = jwtTokenProvider.createRefreshToken(userId);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .token(JwtTokenProvider.tokenHash(refreshToken))
+                .userId(userId)
+                .expiryDate(LocalDateTime.ofInstant(jwtTokenProvider.getExpirationDateFromToken(refreshToken).toInstant(), ZoneId.systemDefault()))
+                .build());
+        return refreshToken;
+    }
+
+    private String subjectOf(String refreshToken) {
+        try {
+            VerifiedToken verified = jwtTokenProvider.parseAndVerify(refreshToken);
+            // 모든 세션 폐기 이전에 발급된 토큰 (행은 이미 지워졌으므로 재사용으로 오인하지 않게 먼저 거름)
+            if (jwtTokenProvider.isTokenBlacklisted(verified)) {
+                throw new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다.");
+            }
+            return verified.getSubject();
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다.");
+        }
+    }
+}
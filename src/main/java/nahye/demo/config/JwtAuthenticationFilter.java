@@ -1,42 +1,111 @@
 package nahye.demo.config;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource 는 Authorization 헤더를 보낼 수 없으므로 SSE 구독 경로만 쿼리 파라미터의 구독 토큰을 인정
+    static final String STREAM_TOKEN_PARAM = "stream_token";
+    private static final Pattern STREAM_PATH = Pattern.compile("/room(/\\d+)?/stream");
+
+    // 필터 판정 결과 (sejali.auth.filter 의 outcome 태그)
+    enum Outcome { ANONYMOUS, VALID, LEGACY, EXPIRED, INVALID, BLACKLISTED }
+
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService,
+                                   MeterRegistry meterRegistry) {
+        this.tokenProvider = tokenProvider;
+        this.userDetailsService = userDetailsService;
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder("sejali.auth.filter")
+                    .description("JWT 인증 필터 처리 시간 (다음 필터 제외)")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
         throws ServletException, IOException{
 
+        long started = System.nanoTime();
         String header = request.getHeader("Authorization");
+        Outcome outcome = header == null && isStreamRequest(request)
+                ? authenticate(request.getParameter(STREAM_TOKEN_PARAM), true)
+                : authenticate(header != null && header.startsWith("Bearer ") ? header.substring(7) : null, false);
+        timers.get(outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 
-        if(header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
+        filterChain.doFilter(request, response);
+    }
 
-            if(tokenProvider.validateToken(token)){
-                String userId = tokenProvider.getUsername(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+    private static boolean isStreamRequest(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && STREAM_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+    }
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+    // streamPath: 구독 토큰만 인정 / 그 외: 구독 토큰 거부 (URL 에 실렸던 토큰을 일반 요청에 쓰지 못하게)
+    // RT 는 어느 경로에서도 거부 (재발급 요청 본문으로만 쓰임)
+    private Outcome authenticate(String token, boolean streamPath) {
+        if(token == null || token.isEmpty()) {
+            return Outcome.ANONYMOUS;
         }
-        filterChain.doFilter(request, response);
+
+        // 검증과 subject 추출을 한 번의 파싱으로 처리
+        VerifiedToken verified;
+        try {
+            verified = tokenProvider.parseAndVerify(token);
+        } catch (ExpiredJwtException e) {
+            return Outcome.EXPIRED;
+        } catch (JwtException | IllegalArgumentException e) {
+            return Outcome.INVALID;
+        }
+        if(verified.isRefreshToken() || verified.isStreamToken() != streamPath) {
+            return Outcome.INVALID;
+        }
+        // 로그아웃한 토큰(jti)과 모든 세션 폐기(비밀번호 변경 포함) 이전에 발급된 토큰
+        if(tokenProvider.isTokenBlacklisted(verified)){
+            return Outcome.BLACKLISTED;
+        }
+
+        String userId = verified.getSubject();
+        // 권한 클레임이 있으면 토큰만으로 인증 객체 생성 (DB 조회 없음)
+        if(verified.getAuthLevel() != null){
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userId, null,
+                    List.of(new SimpleGrantedAuthority(verified.getAuthLevel()))));
+            return Outcome.VALID;
+        }
+
+        // 권한 클레임이 없는 이전 AT 만 기존처럼 사용자 조회 (용도 클레임이 없던 이전 RT 는 거부)
+        if(!verified.isLegacyAccessToken()){
+            return Outcome.INVALID;
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        return Outcome.LEGACY;
     }
 }
@@ -1,71 +1,144 @@
 package nahye.demo.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import nahye.demo.enums.AuthLevel;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
     private final Key key;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final JwtParser parser;
+    private final TokenBlacklist tokenBlacklist;
+    private final SessionRevocation sessionRevocation;
 
-    private static final long ACCESS_TOKEN_VALIDITY = 1000L * 60 * 60;         // 60분
-    private static final long REFRESH_TOKEN_VALIDITY = 1000L * 60 * 60 * 24 * 7; // 7일
+    // 최근 검증한 토큰 (토큰 해시 -> 클레임). 같은 토큰의 반복 요청은 서명 검증 생략
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    static final long ACCESS_TOKEN_VALIDITY = 1000L * 60 * 60;                 // 60분
+    static final long REFRESH_TOKEN_VALIDITY = 1000L * 60 * 60 * 24 * 7;        // 7일
+    public static final long STREAM_TOKEN_VALIDITY = 1000L * 60;                // 1분 (연결 시점에만 검사)
+
+    private static final String AUTH_CLAIM = "auth";
+    private static final String TYPE_CLAIM = "typ";
+    static final String STREAM_TOKEN_TYPE = "stream";
+    static final String REFRESH_TOKEN_TYPE = "refresh";
 
     // JWT 시크릿 키를 application.properties에서 주입
-    public JwtTokenProvider(@Value("${spring.jwt.secret}") String secretKey, RedisTemplate<String, String> redisTemplate) {
+    public JwtTokenProvider(@Value("${spring.jwt.secret}") String secretKey,
+                            @Value("${sejali.jwt.verified-cache-size:10000}") long verifiedCacheSize,
+                            TokenBlacklist tokenBlacklist,
+                            SessionRevocation sessionRevocation) {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
-        this.redisTemplate = redisTemplate;
+        // JwtParser 는 불변/스레드 안전이므로 한 번만 생성해서 재사용
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(ACCESS_TOKEN_VALIDITY, TimeUnit.MILLISECONDS)
+                .build();
+        this.tokenBlacklist = tokenBlacklist;
+        this.sessionRevocation = sessionRevocation;
     }
 
 
 
-    // AT 생성
-    public String createAccessToken(String userId) {
+    // AT 생성 (권한을 담아 필터가 DB 조회 없이 인증 객체를 만들 수 있게 함)
+    public String createAccessToken(String userId, AuthLevel authLevel) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + ACCESS_TOKEN_VALIDITY);
 
         return Jwts.builder()
                 .setSubject(userId)
+                .setId(UUID.randomUUID().toString())
+                .claim(AUTH_CLAIM, authLevel.name())
+                .setIssuedAt(now)
+                .setExpiration(expiry)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // SSE 구독 토큰 생성. URL 에 실리므로 유효기간을 짧게 두고, 구독 경로의 쿼리 파라미터로만 인정됨
+    public String createStreamToken(String userId, AuthLevel authLevel) {
+        Date now = new Date();
+        Date expiry = new Date(now.getTime() + STREAM_TOKEN_VALIDITY);
+
+        return Jwts.builder()
+                .setSubject(userId)
+                .setId(UUID.randomUUID().toString())
+                .claim(AUTH_CLAIM, authLevel.name())
+                .claim(TYPE_CLAIM, STREAM_TOKEN_TYPE)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    // RT 생성
+    // RT 생성 (저장은 RefreshTokenStore 담당). 용도 클레임으로 인증 필터가 Bearer 로 온 RT 를 거부함
     public String createRefreshToken(String userId) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + REFRESH_TOKEN_VALIDITY);
 
-        String refreshToken= Jwts.builder()
+        return Jwts.builder()
                 .setSubject(userId)
-                .setIssuedAt(new Date())
+                .setId(UUID.randomUUID().toString())
+                .claim(TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .setIssuedAt(now)
                 .setExpiration(expiry)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
+    }
 
-        // deleteRefreshToken 메서드가 userId 기반으로 토큰을 삭제하기 위해서는 아래 로직이 필요함
-        // refreshToken을 Redis에 저장
-        redisTemplate.opsForValue().set("refreshToken:" + userId, refreshToken, REFRESH_TOKEN_VALIDITY, TimeUnit.MILLISECONDS);
 
-        return refreshToken;
-    }
+    // 서명 검증 + 클레임 추출을 한 번에. 실패 시 JwtException / IllegalArgumentException
+    public VerifiedToken parseAndVerify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("토큰이 비어 있습니다.");
+        }
+        String cacheKey = tokenHash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            // 만료된 토큰은 아래 파싱에서 ExpiredJwtException 발생
+            verifiedTokens.invalidate(cacheKey);
+        }
 
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                // jti 가 없는 이전 토큰은 토큰 해시를 식별자로 사용
+                claims.getId() != null ? claims.getId() : cacheKey,
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims.get(AUTH_CLAIM, String.class),
+                claims.get(TYPE_CLAIM, String.class)
+        );
+        verifiedTokens.put(cacheKey, verified);
+        return verified;
+    }
 
     // 토큰 유효성 검증
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parseAndVerify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -73,28 +146,25 @@ public class JwtTokenProvider {
     }
 
     public String getUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseAndVerify(token).getSubject();
     }
 
 
     // 토큰에서 만료 시간 추출
     public Date getExpirationDateFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+        return parseAndVerify(token).getExpiration();
     }
 
     //토큰 무효화
     public void invalidateToken(String token) {
-        Date expiration = getExpirationDateFromToken(token);
+        VerifiedToken verified = parseAndVerify(token);
+        // 토큰 원문 대신 jti 로 저장 (키 크기 축소)
+        tokenBlacklist.revoke(verified.getJti(), remainingValidity(verified));
+    }
+
+    // 블랙리스트 보관 기간 = 남은 유효시간. 이미 만료되었으면 IllegalArgumentException
+    public long remainingValidity(VerifiedToken verified) {
+        Date expiration = verified.getExpiration();
 
         if (expiration == null) {
             throw new IllegalArgumentException("Access Token의 만료 시간을 확인할 수 없습니다.");
@@ -104,32 +174,32 @@ public class JwtTokenProvider {
 
         if (remainingTime <= 0) {
             throw new IllegalArgumentException("유효하지 않거나 이미 만료된 Access Token입니다.");
-        } else{
-            redisTemplate.opsForValue().set("blacklist:" + token, "invalidated", remainingTime, TimeUnit.MILLISECONDS);
         }
+        return remainingTime;
     }
 
     // 블랙리스트에 있는지 확인
     public boolean isTokenBlacklisted(String token) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey("blacklist:" + token));
-    }
-
-    public boolean deleteRefreshToken(String refreshToken) {
         try {
-            String userId = getUsername(refreshToken);
-
-            // Redis에서 해당 userId에 연결된 Refresh Token 키 삭제
-            // Redis에 저장할 때 사용했던 키 패턴("refreshToken:{userId}")을 동일하게 사용합니다.
-            Boolean deleted = redisTemplate.delete("refreshToken:" + userId);
-
-            // Redis delete 메서드는 삭제 성공 시 true, 실패 시 (키가 없으면) false를 반환합니다.
-            return Boolean.TRUE.equals(deleted); // null 체크를 위해 Boolean.TRUE.equals() 사용
+            return isTokenBlacklisted(parseAndVerify(token));
         } catch (JwtException | IllegalArgumentException e) {
-            System.err.println("유효하지 않은 Refresh Token: " + e.getMessage());
-            return false;
-        } catch (Exception e) {
-            System.err.println("Refresh Token 삭제 중 오류 발생: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+
+    // 사용자 전체 폐기(not-before)는 메모리에서, jti 블랙리스트는 대부분 메모리 필터에서 끝나고
+    // 필터에 걸린 경우에만 Redis 조회
+    public boolean isTokenBlacklisted(VerifiedToken verified) {
+        return sessionRevocation.isRevoked(verified) || tokenBlacklist.isRevoked(verified.getJti());
+    }
+
+    // 캐시 키: 토큰 원문 대신 SHA-256 해시 (위조 토큰이 다른 토큰의 캐시 항목과 충돌할 수 없음)
+    static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
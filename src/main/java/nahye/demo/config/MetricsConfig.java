@@ -0,0 +1,137 @@
+package nahye.demo.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.commonspool2.CommonsObjectPool2Metrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import nahye.demo.scheduler.TimerScheduler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Actuator/Prometheus 지표 설정 (/actuator/prometheus).
+ * Hikari 풀(hikaricp_*)과 Lettuce 명령 지연(lettuce_*)은 Spring Boot 자동 설정이 등록하고,
+ * 여기서는 히스토그램 버킷, Lettuce 커넥션 풀(commons-pool2), BCrypt 풀, 가상 스레드 모드의 Bulkhead,
+ * 타이머 휠 게이지를 추가합니다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // JWT 필터/토큰 서명/Redis 단계는 수십 µs ~ 수 ms (단위: µs)
+    private static final double[] AUTH_BUCKETS = micros(
+            25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000);
+    // BCrypt 가 포함된 로그인 단계는 수십 ~ 수백 ms
+    private static final double[] BCRYPT_BUCKETS = micros(
+            5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 2_500_000);
+    private static final double[] RESERVATION_BUCKETS = micros(
+            500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000);
+    // queued 감소의 UPDATE 당 요청 수 (단위: 개, 최대 sejali.booking.queued-max-batch 기본 256)
+    private static final double[] BATCH_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 256};
+
+    @Bean
+    public MeterFilter sejaliHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                double[] buckets = bucketsFor(id);
+                if (buckets == null) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(buckets)
+                        .minimumExpectedValue(buckets[0])
+                        .maximumExpectedValue(buckets[buckets.length - 1])
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    // Lettuce 풀은 commons-pool2 가 JMX 에 등록한 MBean 에서 읽음 (활성/유휴/대기 수)
+    @Bean
+    public CommonsObjectPool2Metrics commonsObjectPool2Metrics() {
+        return new CommonsObjectPool2Metrics();
+    }
+
+    @Bean
+    public MeterBinder sejaliPoolMetrics(BoundedPasswordEncoder passwordEncoder,
+                                         TimerScheduler timerScheduler,
+                                         ObjectProvider<PoolBulkheadPostProcessor> bulkheads) {
+        return registry -> {
+            Gauge.builder("sejali.auth.bcrypt.queue", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+                    .description("BCrypt 풀 대기열 길이").register(registry);
+            Gauge.builder("sejali.auth.bcrypt.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                    .description("BCrypt 계산 중인 스레드 수").register(registry);
+            FunctionCounter.builder("sejali.auth.bcrypt.rejected", passwordEncoder, BoundedPasswordEncoder::getRejectedCount)
+                    .description("대기열이 가득 차 거절된 BCrypt 요청").register(registry);
+            Gauge.builder("sejali.timer.pending", timerScheduler, TimerScheduler::getPendingCount)
+                    .description("타이머 휠에 등록된 예약 만료/알림 타이머").register(registry);
+
+            // 가상 스레드 모드에서만 존재
+            PoolBulkheadPostProcessor processor = bulkheads.getIfAvailable();
+            if (processor != null) {
+                bindBulkhead(registry, "jdbc", processor, PoolBulkheadPostProcessor::getJdbcBulkhead);
+                bindBulkhead(registry, "redis", processor, PoolBulkheadPostProcessor::getRedisBulkhead);
+            }
+        };
+    }
+
+    private static void bindBulkhead(MeterRegistry registry, String pool, PoolBulkheadPostProcessor processor,
+                                     Function<PoolBulkheadPostProcessor, Bulkhead> bulkhead) {
+        gauge(registry, "sejali.bulkhead.available", pool, processor, bulkhead, Bulkhead::getAvailablePermits);
+        gauge(registry, "sejali.bulkhead.waiting", pool, processor, bulkhead, Bulkhead::getWaiting);
+    }
+
+    // Bulkhead 는 풀 빈이 후처리될 때 만들어지므로 읽을 때마다 조회
+    private static void gauge(MeterRegistry registry, String name, String pool, PoolBulkheadPostProcessor processor,
+                              Function<PoolBulkheadPostProcessor, Bulkhead> bulkhead,
+                              ToDoubleFunction<Bulkhead> value) {
+        Gauge.builder(name, processor, p -> {
+                    Bulkhead target = bulkhead.apply(p);
+                    return target == null ? Double.NaN : value.applyAsDouble(target);
+                })
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    private static double[] bucketsFor(Meter.Id id) {
+        String name = id.getName();
+        if (name.equals(ReservationMetrics.COUNTER_BATCH)) {
+            return BATCH_BUCKETS;
+        }
+        // 아래 버킷은 나노초 경계이므로 Timer 에만 (DistributionSummary 는 단위가 다름)
+        if (id.getType() != Meter.Type.TIMER) {
+            return null;
+        }
+        boolean bcrypt = name.startsWith("sejali.auth.bcrypt")
+                || (name.equals("sejali.auth.requests") && AuthMetrics.LOGIN.equals(id.getTag("flow")))
+                || (name.equals("sejali.auth.stage") && AuthMetrics.AUTHENTICATE.equals(id.getTag("stage")));
+        if (bcrypt) {
+            return BCRYPT_BUCKETS;
+        }
+        if (name.startsWith("sejali.auth")) {
+            return AUTH_BUCKETS;
+        }
+        if (name.startsWith("sejali.reservation")) {
+            return RESERVATION_BUCKETS;
+        }
+        return null;
+    }
+
+    // Timer 의 버킷 경계는 나노초
+    private static double[] micros(long... values) {
+        double[] nanos = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            nanos[i] = values[i] * 1_000.0;
+        }
+        return nanos;
+    }
+}
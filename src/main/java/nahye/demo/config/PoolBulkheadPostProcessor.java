@@ -0,0 +1,118 @@
+package nahye.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 가상 스레드 모드에서 DataSource(Hikari) 와 RedisConnectionFactory(Lettuce) 를 Bulkhead 로 감쌈.
+ * 커넥션을 얻을 때 허가를 받고, 커넥션을 close 할 때 반납합니다.
+ */
+public class PoolBulkheadPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private Bulkhead jdbcBulkhead;
+    private Bulkhead redisBulkhead;
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && jdbcBulkhead == null) {
+            int poolSize = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+            jdbcBulkhead = new Bulkhead("jdbc",
+                    environment.getProperty("sejali.bulkhead.jdbc-permits", Integer.class, poolSize),
+                    environment.getProperty("sejali.bulkhead.jdbc-max-waiting", Integer.class, 1000),
+                    environment.getProperty("sejali.bulkhead.acquire-timeout-ms", Long.class, 3000L));
+            return wrapDataSource(dataSource, jdbcBulkhead);
+        }
+        if (bean instanceof RedisConnectionFactory connectionFactory && redisBulkhead == null) {
+            redisBulkhead = new Bulkhead("redis",
+                    environment.getProperty("sejali.bulkhead.redis-permits", Integer.class, 256),
+                    environment.getProperty("sejali.bulkhead.redis-max-waiting", Integer.class, 5000),
+                    environment.getProperty("sejali.bulkhead.acquire-timeout-ms", Long.class, 3000L));
+            return wrapRedisConnectionFactory(connectionFactory, redisBulkhead);
+        }
+        return bean;
+    }
+
+    public Bulkhead getJdbcBulkhead() {
+        return jdbcBulkhead;
+    }
+
+    public Bulkhead getRedisBulkhead() {
+        return redisBulkhead;
+    }
+
+    private static Object wrapDataSource(DataSource target, Bulkhead bulkhead) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            if (!"getConnection".equals(invocation.getMethod().getName())) {
+                return invocation.proceed();
+            }
+            if (!bulkhead.tryAcquire()) {
+                throw new SQLTransientConnectionException("DB 커넥션 동시 사용 한도 초과");
+            }
+            try {
+                return releaseOnClose((Connection) invocation.proceed(), Connection.class, bulkhead);
+            } catch (Throwable t) {
+                bulkhead.release();
+                throw t;
+            }
+        });
+        return factory.getProxy();
+    }
+
+    private static Object wrapRedisConnectionFactory(RedisConnectionFactory target, Bulkhead bulkhead) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            if (!"getConnection".equals(invocation.getMethod().getName())) {
+                return invocation.proceed();
+            }
+            if (!bulkhead.tryAcquire()) {
+                throw new RedisConnectionFailureException("Redis 커넥션 동시 사용 한도 초과");
+            }
+            try {
+                return releaseOnClose((RedisConnection) invocation.proceed(), RedisConnection.class, bulkhead);
+            } catch (Throwable t) {
+                bulkhead.release();
+                throw t;
+            }
+        });
+        return factory.getProxy();
+    }
+
+    private static <T> T releaseOnClose(T target, Class<T> type, Bulkhead bulkhead) {
+        AtomicBoolean released = new AtomicBoolean();
+        Object proxy = Proxy.newProxyInstance(PoolBulkheadPostProcessor.class.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    boolean closing = "close".equals(method.getName()) && method.getParameterCount() == 0;
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (closing && released.compareAndSet(false, true)) {
+                            bulkhead.release();
+                        }
+                    }
+                });
+        return type.cast(proxy);
+    }
+}
@@ -1,9 +1,12 @@
 package nahye.demo.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -29,4 +32,19 @@ public class RedisConfig {
         redisTemplate.afterPropertiesSet(); // 설정 완료 후 초기화
         return redisTemplate;
     }
+
+    // pub/sub 구독용 공용 컨테이너 (노드 간 동기화 메시지 수신)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (virtualThreads) {
+            // 메시지 처리도 가상 스레드에서 실행
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("redis-listener-");
+            executor.setVirtualThreads(true);
+            container.setTaskExecutor(executor);
+        }
+        return container;
+    }
 }
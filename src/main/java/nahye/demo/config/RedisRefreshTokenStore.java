@@ -0,0 +1,130 @@
+package nahye.demo.config;
+
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 리프레시 토큰 저장소 (기본).
+ * 사용자마다 "rt:{userId}" 키 하나에 현재 토큰의 SHA-256 해시만 저장합니다.
+ * 재발급할 때마다 새 토큰으로 교체하고, 서명은 유효하지만 현재 토큰이 아닌 토큰이
+ * 다시 제출되면 탈취로 보고 세션을 폐기합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sejali.refresh-token.store", havingValue = "redis", matchIfMissing = true)
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    // 반환: 1 교체됨, 0 저장된 토큰 없음, -1 재사용 감지(세션 폐기)
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if not current then
+                return 0
+            end
+            if current ~= ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                return -1
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    // 로그아웃: 액세스 토큰 블랙리스트 등록 + 다른 노드 알림 + 현재 리프레시 토큰일 때만 삭제
+    // KEYS[1]: 블랙리스트 키, KEYS[2]: 리프레시 토큰 키
+    // ARGV[1]: 블랙리스트 TTL(ms), ARGV[2]: 블랙리스트 채널, ARGV[3]: jti, ARGV[4]: 리프레시 토큰 해시
+    // 반환: 1 리프레시 토큰 삭제, 0 현재 토큰 아님
+    private static final RedisScript<Long> LOGOUT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], '1', 'PX', ARGV[1])
+            redis.call('PUBLISH', ARGV[2], ARGV[3])
+            if redis.call('GET', KEYS[2]) == ARGV[4] then
+                return redis.call('DEL', KEYS[2])
+            end
+            return 0
+            """, Long.class);
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RefreshTokenAuditWriter auditWriter;
+    private final TokenBlacklist tokenBlacklist;
+    private final SessionRevocation sessionRevocation;
+
+    @Override
+    public String issue(String userId) {
+        String refreshToken = jwtTokenProvider.createRefreshToken(userId);
+        String tokenHash = JwtTokenProvider.tokenHash(refreshToken);
+
+        redisTemplate.opsForValue().set(key(userId), tokenHash, JwtTokenProvider.REFRESH_TOKEN_VALIDITY, TimeUnit.MILLISECONDS);
+        auditWriter.issued(tokenHash, userId, expiryOf(refreshToken));
+        return refreshToken;
+    }
+
+    @Override
+    public RefreshTokenRotation rotate(String refreshToken) {
+        String userId = subjectOf(refreshToken);
+        String newToken = jwtTokenProvider.createRefreshToken(userId);
+        String newHash = JwtTokenProvider.tokenHash(newToken);
+
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, List.of(key(userId)),
+                JwtTokenProvider.tokenHash(refreshToken),
+                newHash,
+                String.valueOf(JwtTokenProvider.REFRESH_TOKEN_VALIDITY));
+
+        if (result == null || result == 0) {
+            throw new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다.");
+        }
+        if (result == -1) {
+            throw new IllegalStateException("이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+        }
+
+        auditWriter.issued(newHash, userId, expiryOf(newToken));
+        return new RefreshTokenRotation(userId, newToken);
+    }
+
+    // Redis 왕복 한 번. 리프레시 토큰은 파싱하지 않고 액세스 토큰 사용자의 현재 토큰 해시와 비교
+    @Override
+    public boolean logout(VerifiedToken accessToken, long accessTtlMillis, String refreshToken) {
+        Long deleted = redisTemplate.execute(LOGOUT_SCRIPT,
+                List.of(TokenBlacklist.key(accessToken.getJti()), key(accessToken.getSubject())),
+                String.valueOf(accessTtlMillis),
+                TokenBlacklist.CHANNEL,
+                accessToken.getJti(),
+                JwtTokenProvider.tokenHash(refreshToken));
+        tokenBlacklist.markRevoked(accessToken.getJti());
+        return deleted != null && deleted > 0;
+    }
+
+    @Override
+    public void revokeAll(String userId) {
+        sessionRevocation.revokeAll(userId, key(userId));
+    }
+
+    private String subjectOf(String refreshToken) {
+        try {
+            VerifiedToken verified = jwtTokenProvider.parseAndVerify(refreshToken);
+            // 모든 세션 폐기 이전에 발급된 토큰
+            if (jwtTokenProvider.isTokenBlacklisted(verified)) {
+                throw new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다.");
+            }
+            return verified.getSubject();
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다.");
+        }
+    }
+
+    private LocalDateTime expiryOf(String refreshToken) {
+        return LocalDateTime.ofInstant(jwtTokenProvider.getExpirationDateFromToken(refreshToken).toInstant(), ZoneId.systemDefault());
+    }
+
+    private static String key(String userId) {
+        return "rt:" + userId;
+    }
+}
@@ -0,0 +1,130 @@
+package nahye.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import nahye.demo.entity.RefreshToken;
+import nahye.demo.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 발급된 리프레시 토큰 기록을 refresh_token 테이블에 비동기로 쌓음 (감사용).
+ * 로그인/재발급 요청 스레드에서는 SQL 을 실행하지 않습니다.
+ *
+ * 대기열은 크기 제한이 있어 DB 가 느려져도 힙이 계속 늘지 않습니다. 가득 차면 로그인을 막지 않고 기록을 버리며 dropped 로 셉니다.
+ * 저장에 실패한 배치는 버리지 않고 다음 주기마다 다시 시도하고(그동안 새 배치는 쌓이기만 함),
+ * maxAttempts 번 실패하면 dead-letter 로거(nahye.demo.audit.dead-letter)에 한 건씩 남겨 나중에 다시 넣을 수 있게 합니다.
+ *
+ * sejali.refresh-token.audit: 기록 건수 (outcome=written|dropped|retried|dead_lettered)
+ * sejali.refresh-token.audit.pending: 대기열 길이
+ */
+@Component
+@ConditionalOnProperty(name = "sejali.refresh-token.store", havingValue = "redis", matchIfMissing = true)
+public class RefreshTokenAuditWriter {
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final BlockingQueue<RefreshToken> pending;
+    private final int maxAttempts;
+
+    // 저장에 실패해 다시 시도할 배치 (스케줄러 스레드에서만 접근)
+    private List<RefreshToken> failedBatch;
+    private int failedAttempts;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    private static final int BATCH_SIZE = 500;
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenAuditWriter.class);
+    private static final Logger deadLetter = LoggerFactory.getLogger("nahye.demo.audit.dead-letter");
+
+    public RefreshTokenAuditWriter(RefreshTokenRepository refreshTokenRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${sejali.refresh-token.audit-queue:20000}") int queueCapacity,
+                                   @Value("${sejali.refresh-token.audit-max-attempts:5}") int maxAttempts) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxAttempts = maxAttempts;
+        this.written = outcome(meterRegistry, "written");
+        this.dropped = outcome(meterRegistry, "dropped");
+        this.retried = outcome(meterRegistry, "retried");
+        this.deadLettered = outcome(meterRegistry, "dead_lettered");
+        Gauge.builder("sejali.refresh-token.audit.pending", pending, BlockingQueue::size)
+                .description("DB 에 쓰기를 기다리는 감사 기록 수")
+                .register(meterRegistry);
+    }
+
+    public void issued(String tokenHash, String userId, LocalDateTime expiryDate) {
+        boolean queued = pending.offer(RefreshToken.builder()
+                .token(tokenHash)
+                .userId(userId)
+                .expiryDate(expiryDate)
+                .build());
+        if (!queued) {
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sejali.refresh-token.audit-flush-ms:1000}")
+    public void flush() {
+        if (failedBatch != null) {
+            if (!write(failedBatch)) {
+                retried.increment(failedBatch.size());
+                if (++failedAttempts >= maxAttempts) {
+                    deadLetter(failedBatch);
+                    failedBatch = null;
+                }
+                return;
+            }
+            failedBatch = null;
+        }
+        while (!pending.isEmpty()) {
+            List<RefreshToken> batch = new ArrayList<>(BATCH_SIZE);
+            pending.drainTo(batch, BATCH_SIZE);
+            if (!write(batch)) {
+                failedBatch = batch;
+                failedAttempts = 1;
+                return;
+            }
+        }
+    }
+
+    private boolean write(List<RefreshToken> batch) {
+        try {
+            refreshTokenRepository.saveAll(batch);
+            written.increment(batch.size());
+            return true;
+        } catch (Exception e) {
+            logger.error("리프레시 토큰 감사 기록 실패: {}건", batch.size(), e);
+            // 실패한 저장이 엔티티를 영속 상태로 표시했을 수 있으므로 다음 시도도 INSERT 로 처리되게 함
+            batch.forEach(token -> token.setNewEntity(true));
+            return false;
+        }
+    }
+
+    private void deadLetter(List<RefreshToken> batch) {
+        for (RefreshToken token : batch) {
+            deadLetter.error("token={} userId={} expiryDate={}", token.getToken(), token.getUserId(), token.getExpiryDate());
+        }
+        deadLettered.increment(batch.size());
+        logger.error("리프레시 토큰 감사 기록 {}회 실패, dead-letter 로 이동: {}건", maxAttempts, batch.size());
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("sejali.refresh-token.audit")
+                .description("리프레시 토큰 감사 기록 결과")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package nahye.demo.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RefreshTokenRotation {
+    private final String userId;
+    private final String refreshToken;
+}
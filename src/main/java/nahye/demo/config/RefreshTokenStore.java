@@ -0,0 +1,21 @@
+package nahye.demo.config;
+
+/**
+ * 리프레시 토큰 저장소.
+ * sejali.refresh-token.store 값으로 구현 선택 (redis: 기본, jpa: MySQL)
+ */
+public interface RefreshTokenStore {
+
+    // 새 리프레시 토큰 발급. 해당 사용자의 이전 토큰은 무효가 됨
+    String issue(String userId);
+
+    // 토큰 검증 후 새 토큰으로 교체. 이미 교체된 토큰이 다시 쓰이면 세션을 폐기하고 예외
+    RefreshTokenRotation rotate(String refreshToken);
+
+    // 로그아웃. 액세스 토큰을 남은 유효시간 동안 블랙리스트에 올리고,
+    // 리프레시 토큰이 그 사용자의 현재 토큰이면 삭제하고 true
+    boolean logout(VerifiedToken accessToken, long accessTtlMillis, String refreshToken);
+
+    // 사용자의 모든 세션 폐기. 리프레시 토큰을 지우고 not-before 를 갱신해 이미 발급된 액세스 토큰도 무효화
+    void revokeAll(String userId);
+}
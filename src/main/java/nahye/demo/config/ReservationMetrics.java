@@ -0,0 +1,66 @@
+package nahye.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import nahye.demo.booking.ClaimResult;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 시도/충돌 집계.
+ * sejali.reservation.claim: 좌석 점유 시도 시간 (mode=single|bulk, result=claimed|seat_taken|room_full)
+ * sejali.reservation.aborted: 점유 후 트랜잭션 롤백으로 되돌린 횟수
+ * sejali.reservation.counter.conflict: 남은 좌석 감소 충돌 (strategy, outcome=retried|gave_up)
+ * sejali.reservation.counter.batch: queued 방식에서 UPDATE 한 번에 묶인 요청 수 (strategy)
+ * 실습실 id 는 태그로 달지 않습니다. 실습실이 늘 때마다 시계열(히스토그램은 버킷 수만큼)이 늘어나므로,
+ * 실습실별로 볼 때는 로그나 DB 로 확인합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationMetrics {
+
+    public static final String SINGLE = "single";
+    public static final String BULK = "bulk";
+
+    public static final String COUNTER_BATCH = "sejali.reservation.counter.batch";
+
+    private final MeterRegistry meterRegistry;
+
+    public void recordClaim(String mode, ClaimResult result, long startedNanos) {
+        Timer.builder("sejali.reservation.claim")
+                .description("좌석 점유 시도 시간 (겹침 검사 + 남은 좌석 감소)")
+                .tag("mode", mode)
+                .tag("result", result.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAborted() {
+        Counter.builder("sejali.reservation.aborted")
+                .description("점유 후 롤백된 예약")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordCounterConflict(String strategy, boolean retried) {
+        Counter.builder("sejali.reservation.counter.conflict")
+                .description("남은 좌석 감소 충돌 (retried: 다시 시도, gave_up: 예약 실패)")
+                .tag("strategy", strategy)
+                .tag("outcome", retried ? "retried" : "gave_up")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordCounterBatch(String strategy, int size) {
+        DistributionSummary.builder(COUNTER_BATCH)
+                .description("UPDATE 한 번에 묶인 감소 요청 수")
+                .tag("strategy", strategy)
+                .register(meterRegistry)
+                .record(size);
+    }
+}
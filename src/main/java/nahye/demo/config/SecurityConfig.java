@@ -1,6 +1,15 @@
 package nahye.demo.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import nahye.demo.idempotency.IdempotencyFilter;
+import nahye.demo.idempotency.IdempotencyStore;
+import nahye.demo.ratelimit.GlobalRateBudget;
+import nahye.demo.ratelimit.RateLimitFilter;
+import nahye.demo.ratelimit.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -12,8 +21,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -22,24 +29,34 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableMethodSecurity
 @EnableWebSecurity
 @EnableJpaAuditing
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+    private final RateLimitProperties rateLimitProperties;
+    private final GlobalRateBudget globalRateBudget;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter(){
-        return new JwtAuthenticationFilter(tokenProvider,userDetailsService);
+        return new JwtAuthenticationFilter(tokenProvider,userDetailsService,meterRegistry);
     }
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration)throws Exception{
         return configuration.getAuthenticationManager();
     }
 
+    // BCrypt 는 전용 풀에서 실행. 저장된 해시의 cost 가 낮으면 로그인 성공 시 다시 해시됨
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${sejali.security.bcrypt-strength:10}") int strength,
+                                                  @Value("${sejali.security.bcrypt-threads:0}") int threads,
+                                                  @Value("${sejali.security.bcrypt-queue:64}") int queueCapacity){
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, meterRegistry);
     }
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http)throws Exception{
@@ -53,9 +70,18 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/v3/api-docs/**").permitAll()
+                        // 헬스 체크와 Prometheus 수집 (인증 헤더 없이 접근)
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+        if (rateLimitProperties.isEnabled()) {
+            // 빈으로 등록하지 않음 (서블릿 필터로 중복 등록되지 않게 보안 체인에만 추가)
+            http.addFilterBefore(new RateLimitFilter(rateLimitProperties, globalRateBudget, tokenProvider,
+                    objectMapper, meterRegistry), JwtAuthenticationFilter.class);
+        }
+        // 키를 사용자별로 나누므로 JWT 인증 다음
+        http.addFilterAfter(new IdempotencyFilter(idempotencyStore, meterRegistry), JwtAuthenticationFilter.class);
 
         http
                 .logout(logout -> logout
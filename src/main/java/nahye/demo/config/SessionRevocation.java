@@ -0,0 +1,146 @@
+package nahye.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 not-before 시각. 이 시각 이전에 발급된 토큰(액세스/리프레시)은 모두 무효입니다.
+ * 모든 세션 폐기는 토큰마다 키를 만들지 않고 "nbf:{userId}" 키 하나만 갱신하면 되고,
+ * 노드마다 메모리에 사본을 두고 Redis pub/sub 으로 동기화하므로 요청마다 Redis 를 조회하지 않습니다.
+ * 리프레시 토큰 유효기간이 지나면 그 전에 발급된 토큰은 어차피 만료되므로 키와 사본도 그때 사라집니다.
+ * 사용자 단위 토큰 무효화는 이 방식 하나뿐입니다 (관리자 세션 폐기, 비밀번호 변경 모두 RefreshTokenStore.revokeAll).
+ */
+@Component
+public class SessionRevocation implements MessageListener {
+
+    private static final String KEY_PREFIX = "nbf:";
+    private static final String CHANNEL = "sejali:session-revoked";
+
+    // KEYS[1]: nbf 키, KEYS[2..]: 함께 지울 키 (리프레시 토큰)
+    // ARGV[1]: nbf(ms), ARGV[2]: TTL(ms), ARGV[3]: 채널, ARGV[4]: userId
+    // 반환: 적용된 nbf (이미 더 늦은 값이 있으면 그 값)
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT = new DefaultRedisScript<>("""
+            local nbf = math.max(tonumber(redis.call('GET', KEYS[1]) or '0'), tonumber(ARGV[1]))
+            redis.call('SET', KEYS[1], string.format('%d', nbf), 'PX', ARGV[2])
+            for i = 2, #KEYS do
+                redis.call('DEL', KEYS[i])
+            end
+            redis.call('PUBLISH', ARGV[3], ARGV[4] .. ':' .. string.format('%d', nbf))
+            return nbf
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    // userId -> nbf(ms)
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionRevocation.class);
+
+    public SessionRevocation(RedisTemplate<String, String> redisTemplate,
+                             RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        seedFromRedis();
+    }
+
+    /**
+     * userId 의 모든 세션 폐기. nbf 갱신, extraKeys 삭제, 다른 노드 알림을 Redis 왕복 한 번으로 처리합니다.
+     * JWT 의 iat 는 초 단위이므로 nbf 는 다음 초 경계로 올림 (같은 초에 새로 발급된 토큰도 무효가 됨)
+     */
+    public void revokeAll(String userId, String... extraKeys) {
+        long nbf = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        List<String> keys = new ArrayList<>(extraKeys.length + 1);
+        keys.add(KEY_PREFIX + userId);
+        keys.addAll(List.of(extraKeys));
+
+        Long applied = redisTemplate.execute(REVOKE_ALL_SCRIPT, keys,
+                String.valueOf(nbf),
+                String.valueOf(JwtTokenProvider.REFRESH_TOKEN_VALIDITY),
+                CHANNEL,
+                userId);
+        remember(userId, applied != null ? applied : nbf);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (notBefore.isEmpty()) {
+            return false;
+        }
+        Long nbf = notBefore.get(token.getSubject());
+        return nbf != null && (token.getIssuedAt() == null || token.getIssuedAt().getTime() < nbf);
+    }
+
+    // 다른 노드에서 폐기된 사용자 수신 ("userId:nbf")
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            remember(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            logger.warn("세션 폐기 메시지 형식 오류: {}", body);
+        }
+    }
+
+    // 리프레시 토큰 유효기간이 지난 항목 정리
+    @Scheduled(fixedRate = JwtTokenProvider.ACCESS_TOKEN_VALIDITY)
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - JwtTokenProvider.REFRESH_TOKEN_VALIDITY;
+        notBefore.values().removeIf(nbf -> nbf < cutoff);
+    }
+
+    private void remember(String userId, long nbf) {
+        notBefore.merge(userId, nbf, Math::max);
+    }
+
+    // 기동 시 아직 살아 있는 nbf 키로 사본 채우기
+    private void seedFromRedis() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        List<String> keys = redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+            List<String> found = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    found.add(new String(cursor.next(), StandardCharsets.UTF_8));
+                }
+            }
+            return found;
+        });
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; values != null && i < keys.size(); i++) {
+            if (values.get(i) != null) {
+                remember(keys.get(i).substring(KEY_PREFIX.length()), Long.parseLong(values.get(i)));
+            }
+        }
+        logger.info("세션 폐기 목록 적재 완료: {}건", notBefore.size());
+    }
+}
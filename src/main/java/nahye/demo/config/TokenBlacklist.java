@@ -0,0 +1,117 @@
+package nahye.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * jti 기반 액세스 토큰 블랙리스트.
+ * 노드마다 블룸 필터를 두고 Redis pub/sub 으로 동기화하므로,
+ * 대부분의 요청(무효화되지 않은 토큰)은 Redis 조회 없이 메모리에서 판정됩니다.
+ * 필터에 걸린 경우에만 Redis 키를 확인해 오탐을 걸러냅니다.
+ */
+@Component
+public class TokenBlacklist implements MessageListener {
+
+    private static final String KEY_PREFIX = "blacklist:";
+    static final String CHANNEL = "sejali:token-revoked";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final int expectedRevocations;
+
+    // 액세스 토큰 유효기간마다 세대 교체. 현재/이전 세대를 함께 확인하므로
+    // 추가된 항목은 최소 유효기간 동안 유지됨
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlacklist.class);
+
+    public TokenBlacklist(RedisTemplate<String, String> redisTemplate,
+                          RedisMessageListenerContainer listenerContainer,
+                          @Value("${sejali.jwt.blacklist-expected-size:100000}") int expectedRevocations) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.expectedRevocations = expectedRevocations;
+        this.current = newFilter();
+        this.previous = newFilter();
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        seedFromRedis();
+    }
+
+    public void revoke(String jti, long ttlMillis) {
+        redisTemplate.opsForValue().set(key(jti), "1", ttlMillis, TimeUnit.MILLISECONDS);
+        current.add(jti);
+        redisTemplate.convertAndSend(CHANNEL, jti);
+    }
+
+    // 다른 스크립트가 key(jti) 저장과 CHANNEL 발행을 대신 한 경우 이 노드의 필터에만 추가
+    public void markRevoked(String jti) {
+        current.add(jti);
+    }
+
+    static String key(String jti) {
+        return KEY_PREFIX + jti;
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!current.mightContain(jti) && !previous.mightContain(jti)) {
+            return false;
+        }
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key(jti)));
+    }
+
+    // 다른 노드에서 무효화된 jti 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        current.add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Scheduled(fixedRate = JwtTokenProvider.ACCESS_TOKEN_VALIDITY, initialDelay = JwtTokenProvider.ACCESS_TOKEN_VALIDITY)
+    public void rotate() {
+        previous = current;
+        current = newFilter();
+    }
+
+    // 기동 시 아직 살아 있는 블랙리스트 키로 필터 채우기
+    private void seedFromRedis() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        Integer seeded = redisTemplate.execute((RedisCallback<Integer>) connection -> {
+            int count = 0;
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = new String(cursor.next(), StandardCharsets.UTF_8);
+                    current.add(key.substring(KEY_PREFIX.length()));
+                    count++;
+                }
+            }
+            return count;
+        });
+        logger.info("토큰 블랙리스트 필터 적재 완료: {}건", seeded);
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedRevocations, 0.01);
+    }
+}
@@ -0,0 +1,37 @@
+package nahye.demo.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+// 서명 검증을 마친 토큰의 클레임 (한 번 파싱해서 재사용)
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+    private final String subject;
+    private final String jti;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final String authLevel; // 권한 (구 버전 토큰에는 없음)
+    private final String type;      // 토큰 용도 (SSE 구독 토큰은 "stream", RT 는 "refresh", AT 는 null)
+
+    public boolean isStreamToken() {
+        return JwtTokenProvider.STREAM_TOKEN_TYPE.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtTokenProvider.REFRESH_TOKEN_TYPE.equals(type);
+    }
+
+    // 권한 클레임 도입 전에 발급된 AT. 용도 클레임이 없던 이전 RT 와는 유효기간으로 구분하며,
+    // 새로 발급되는 AT 에는 권한이 있으므로 배포 후 AT 유효기간(60분)이 지나면 더 이상 없음
+    public boolean isLegacyAccessToken() {
+        return authLevel == null && type == null && issuedAt != null && expiration != null
+                && expiration.getTime() - issuedAt.getTime() <= JwtTokenProvider.ACCESS_TOKEN_VALIDITY;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,32 @@
+package nahye.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 가상 스레드 모드 (spring.threads.virtual.enabled=true).
+ * Tomcat 요청 처리와 @Scheduled 작업은 Spring Boot 가 가상 스레드로 실행하고,
+ * 여기서는 pinning 진단과 커넥션 풀 앞단의 동시성 제한을 추가합니다.
+ * BCrypt 는 CPU 작업이므로 가상 스레드가 아니라 BoundedPasswordEncoder 의 고정 풀에서 실행됩니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // BeanPostProcessor 는 다른 빈보다 먼저 만들어져야 하므로 static
+    @Bean
+    public static PoolBulkheadPostProcessor poolBulkheadPostProcessor() {
+        return new PoolBulkheadPostProcessor();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sejali.threads.pinning-monitor", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${sejali.threads.pinning-threshold-ms:20}") long thresholdMillis) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMillis));
+    }
+}
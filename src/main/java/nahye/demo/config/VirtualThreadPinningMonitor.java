@@ -0,0 +1,79 @@
+package nahye.demo.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 pinning 진단.
+ * JFR jdk.VirtualThreadPinned 이벤트(synchronized 블록 안에서 블로킹 등)를 스트리밍으로 받아
+ * 스택과 함께 로그로 남기고, 발생 위치별 횟수를 집계합니다. 우리 코드뿐 아니라
+ * 라이브러리(JDBC 드라이버, Lettuce 등) 안에서 생기는 pinning 도 같이 잡힙니다.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinnedByFrame = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        logger.info("가상 스레드 pinning 감시 시작 (기준 {}ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public Map<String, Long> getPinnedCounts() {
+        return pinnedByFrame.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String top = frames.isEmpty() ? "unknown" : describe(frames.get(0));
+        pinnedByFrame.computeIfAbsent(top, key -> new LongAdder()).increment();
+
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + describe(frame))
+                .collect(Collectors.joining("\n"));
+        logger.warn("가상 스레드 pinning {}ms\n{}", event.getDuration().toMillis(), stack);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -1,21 +1,30 @@
 package nahye.demo.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import nahye.demo.booking.WaitingRoomQueue;
+import nahye.demo.dto.reservation.BulkReservationRequest;
+import nahye.demo.dto.reservation.ReservationResponse;
 import nahye.demo.dto.room.RoomRequest;
 import nahye.demo.dto.room.RoomResponse;
+import nahye.demo.dto.user.AdminUserPageResponse;
 import nahye.demo.dto.user.AdminUserResponse;
-import nahye.demo.entity.Room;
-import nahye.demo.entity.User;
+import nahye.demo.service.ReservationService;
 import nahye.demo.service.RoomService;
 import nahye.demo.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequiredArgsConstructor
@@ -23,14 +32,68 @@ import java.util.List;
 public class AdminController {
     private final UserService userService;
     private final RoomService roomService;
+    private final ReservationService reservationService;
+    private final ObjectMapper objectMapper;
+    private final WaitingRoomQueue waitingRoomQueue;
+
+    private static final int EXPORT_PAGE_SIZE = 500;
+    private static final int DEFAULT_PAGE_SIZE = 100;
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
+    // 기본은 이전과 같은 전체 사용자 JSON 배열 (페이지 단위로 읽어 흘려보내므로 사용자 수와 상관없이 메모리 일정)
+    // cursor 나 size 를 주면 키셋 페이지 응답 { users, nextCursor } (sort=id|studentNum)
     @GetMapping("/all-users")
     //ADMIN 인 경우에만 요청 허용
     @PreAuthorize("hasAuthority('ADMIN')")
-    public List<AdminUserResponse> getAllUsers(){
-        return userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) Long cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(defaultValue = "id") String sort){
+        if (cursor != null || size != null) {
+            AdminUserPageResponse page = userService.getUsersPage(cursor, size == null ? DEFAULT_PAGE_SIZE : size, sort);
+            return ResponseEntity.ok(page);
+        }
+        StreamingResponseBody body = out -> {
+            boolean[] first = {true};
+            out.write('[');
+            userService.forEachUserPage(EXPORT_PAGE_SIZE, users -> {
+                try {
+                    for (AdminUserResponse user : users) {
+                        if (!first[0]) {
+                            out.write(',');
+                        }
+                        first[0] = false;
+                        out.write(objectMapper.writeValueAsBytes(user));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.write(']');
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // 전체 사용자 NDJSON 내보내기 (한 줄에 한 명, 페이지 단위로 흘려보냄)
+    @GetMapping(value = "/all-users/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAllUsers(){
+        StreamingResponseBody body = out -> userService.forEachUserPage(EXPORT_PAGE_SIZE, users -> {
+            try {
+                for (AdminUserResponse user : users) {
+                    out.write(objectMapper.writeValueAsBytes(user));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @PostMapping("/add-room")
@@ -46,4 +109,68 @@ public class AdminController {
         }
 
     }
+
+    // 여러 실습실 한 번에 생성 (배치 INSERT)
+    @PostMapping("/add-rooms")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> createRooms(@RequestBody List<RoomRequest> requests, Authentication authentication) {
+        try{
+            List<RoomResponse> response = roomService.createRooms(requests, authentication.getName());
+            return ResponseEntity.status(201).body(response);
+        } catch(IllegalArgumentException e){
+            return ResponseEntity.status(400).body(e.getMessage());
+        } catch(Exception e){
+            logger.error("서버 오류 발생 : ", e);
+            return ResponseEntity.status(500).body("서버 오류 발생 : " + e.getMessage());
+        }
+    }
+
+    // 수업 단위 단체 예약 (전부 성공하거나 전부 실패)
+    @PostMapping("/reservation/bulk")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> reserveBulk(@RequestBody BulkReservationRequest request) {
+        try{
+            List<ReservationResponse> response = reservationService.reserveBulk(request);
+            return ResponseEntity.status(201).body(response);
+        } catch(RejectedExecutionException e){
+            return ResponseEntity.status(503).header("Retry-After", "1").body(e.getMessage());
+        } catch(IllegalStateException e){
+            return ResponseEntity.status(409).body(e.getMessage());
+        } catch(IllegalArgumentException e){
+            return ResponseEntity.status(400).body(e.getMessage());
+        } catch(Exception e){
+            logger.error("서버 오류 발생 : ", e);
+            return ResponseEntity.status(500).body("서버 오류 발생 : " + e.getMessage());
+        }
+    }
+
+    // 분실/탈취 신고된 계정의 모든 세션 폐기 (기기 수와 상관없이 Redis 키 하나 갱신)
+    @PostMapping("/users/{userId}/revoke-sessions")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> revokeSessions(@PathVariable String userId) {
+        try {
+            userService.revokeAllSessions(userId);
+            return ResponseEntity.ok("세션 폐기 완료");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("서버 오류 발생 : ", e);
+            return ResponseEntity.status(500).body("서버 오류 발생 : " + e.getMessage());
+        }
+    }
+
+    // 예약 오픈 전에 대기열을 열어 두면 입장 티켓이 있는 사용자만 예약 가능
+    @PostMapping("/room/{id}/queue")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> openQueue(@PathVariable Long id) {
+        waitingRoomQueue.open(id);
+        return ResponseEntity.ok("대기열 시작");
+    }
+
+    @DeleteMapping("/room/{id}/queue")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> closeQueue(@PathVariable Long id) {
+        waitingRoomQueue.close(id);
+        return ResponseEntity.ok("대기열 종료");
+    }
 }
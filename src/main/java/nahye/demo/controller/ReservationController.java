@@ -0,0 +1,92 @@
+package nahye.demo.controller;
+
+import lombok.RequiredArgsConstructor;
+import nahye.demo.booking.WaitingRoomQueue;
+import nahye.demo.dto.reservation.ReservationRequest;
+import nahye.demo.dto.reservation.ReservationResponse;
+import nahye.demo.service.ReservationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/reservation")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+    private final WaitingRoomQueue waitingRoomQueue;
+    private static final Logger logger = LoggerFactory.getLogger(ReservationController.class);
+
+    @PostMapping
+    public ResponseEntity<?> reserve(@RequestBody ReservationRequest request,
+                                     @RequestHeader(value = "X-Queue-Ticket", required = false) String queueTicket,
+                                     Authentication authentication) {
+        try {
+            if (request == null) {
+                return ResponseEntity.status(400).body("예약 실패: 입력 오류");
+            }
+            String userId = authentication.getName();
+            // 대기열이 열린 실습실은 입장 티켓을 먼저 사용 처리해야 예약 가능 (티켓 하나에 예약 시도 하나)
+            WaitingRoomQueue.Admission admission = request.getRoomId() == null ? WaitingRoomQueue.Admission.NOT_REQUIRED
+                    : waitingRoomQueue.consume(request.getRoomId(), userId, queueTicket);
+            if (admission == null) {
+                return new ResponseEntity<>("대기열 입장 후 예약할 수 있습니다.", HttpStatus.FORBIDDEN);
+            }
+            ReservationResponse response;
+            try {
+                response = reservationService.reserve(request, userId);
+            } catch (RuntimeException e) {
+                waitingRoomQueue.restore(admission);
+                throw e;
+            }
+            return ResponseEntity.status(201).body(response);
+        } catch (RejectedExecutionException e) {
+            return busy(e.getMessage());
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("예약 중 예외 발생", e);
+            return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> cancel(@PathVariable Long id, Authentication authentication) {
+        try {
+            reservationService.cancel(id, authentication.getName());
+            return ResponseEntity.ok("예약 취소 성공");
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("예약 취소 중 예외 발생", e);
+            return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyReservations(Authentication authentication) {
+        try {
+            List<ReservationResponse> response = reservationService.getMyReservations(authentication.getName());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("오류 : ", e);
+            return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 좌석 처리가 지연되는 경우: 커넥션을 잡고 더 기다리지 않고 503
+    private ResponseEntity<?> busy(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(message);
+    }
+}
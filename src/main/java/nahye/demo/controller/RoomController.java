@@ -1,19 +1,37 @@
 package nahye.demo.controller;
 
 import lombok.RequiredArgsConstructor;
-import nahye.demo.dto.room.RoomGetResponse;
-
+import nahye.demo.booking.SeatAvailabilityIndex;
+import nahye.demo.booking.WaitingRoomQueue;
+import nahye.demo.config.JwtTokenProvider;
+import nahye.demo.dto.queue.QueueStatusResponse;
+import nahye.demo.dto.room.StreamTokenResponse;
+import nahye.demo.enums.AuthLevel;
+import nahye.demo.service.AvailabilityService;
+import nahye.demo.service.RoomListSnapshot;
 import nahye.demo.service.RoomService;
+import nahye.demo.service.SeatStreamBroadcaster;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.GetMapping;
-
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 @RestController
 @RequestMapping("/room")
@@ -21,13 +39,139 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final RoomListSnapshot roomListSnapshot;
+    private final SeatStreamBroadcaster seatStreamBroadcaster;
+    private final WaitingRoomQueue waitingRoomQueue;
+    private final AvailabilityService availabilityService;
+    private final JwtTokenProvider jwtTokenProvider;
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
+    // 미리 직렬화한 스냅샷을 그대로 내려주고, ETag 가 같으면 304 (DB 조회/직렬화 없음)
     @GetMapping
-    public ResponseEntity<?> getAllRooms(){
+    public ResponseEntity<?> getAllRooms(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        try{
+            RoomListSnapshot.Snapshot snapshot = roomListSnapshot.current();
+            if (RoomListSnapshot.matches(ifNoneMatch, snapshot.etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(snapshot.etag())
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(snapshot.body());
+        } catch (Exception e){
+            logger.error("오류 : ",e);
+            return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // SSE 구독 토큰 발급 (Bearer 인증 필요). 브라우저 EventSource 는 헤더를 못 보내므로
+    // GET /room/stream?stream_token=... 처럼 쿼리 파라미터로 전달. 토큰은 1분 안에 연결할 때만 쓰이고
+    // 연결된 스트림은 계속 유지됨. EventSource 가 error 로 재연결하면 토큰을 새로 받아 다시 열어야 함
+    @PostMapping("/stream-token")
+    public ResponseEntity<?> issueStreamToken(Authentication authentication){
+        try{
+            AuthLevel authLevel = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .anyMatch(AuthLevel.ADMIN.name()::equals) ? AuthLevel.ADMIN : AuthLevel.USER;
+            String token = jwtTokenProvider.createStreamToken(authentication.getName(), authLevel);
+            return ResponseEntity.ok(new StreamTokenResponse(token, JwtTokenProvider.STREAM_TOKEN_VALIDITY));
+        } catch (Exception e){
+            logger.error("오류 : ",e);
+            return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 전체 실습실 좌석 변경 SSE. 연결 직후 "snapshot" 이벤트(실습실별 남은 좌석 수) 다음
+    // 주기마다 "seats" 이벤트 하나 (그 주기에 바뀐 실습실 프레임의 배열)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllRooms(){
+        return seatStreamBroadcaster.subscribe(null);
+    }
+
+    // 특정 실습실 좌석 변경 SSE (남은 좌석 수 + 좌석별 변경). 구독 토큰은 위와 같음
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRoom(@PathVariable Long id){
+        return seatStreamBroadcaster.subscribe(id);
+    }
+
+    // 실습실 상세: 남은 좌석, 진행 중/예정 예약 수, 다음 빈 슬롯
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getRoom(@PathVariable Long id){
+        try{
+            return ResponseEntity.ok(roomService.getRoomDetail(id));
+        } catch (IllegalArgumentException e){
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (Exception e){
+            logger.error("오류 : ",e);
+            return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 하루 좌석 x 15분 슬롯 격자. format = json(기본) | rle | binary
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<?> getAvailability(@PathVariable Long id,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                             @RequestParam(defaultValue = "json") String format){
+        try{
+            if ("binary".equals(format)) {
+                byte[] body = availabilityService.getGridBinary(id, date);
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header("X-Slot-Minutes", String.valueOf(SeatAvailabilityIndex.SLOT_MINUTES))
+                        .header("X-Seats", String.valueOf(body.length / (Long.BYTES * SeatAvailabilityIndex.WORDS_PER_SEAT)))
+                        .body(body);
+            }
+            return ResponseEntity.ok(availabilityService.getGrid(id, date, "rle".equals(format)));
+        } catch (IllegalArgumentException e){
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e){
+            logger.error("오류 : ",e);
+            return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 지정한 시간 동안 비어 있는 좌석 번호
+    @GetMapping("/{id}/availability/free")
+    public ResponseEntity<?> getFreeSeats(@PathVariable Long id,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to){
+        try{
+            return ResponseEntity.ok(availabilityService.getFreeSeats(id, date, from, to));
+        } catch (IllegalArgumentException e){
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e){
+            logger.error("오류 : ",e);
+            return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 대기열 등록 (이미 등록했으면 기존 티켓과 현재 순번)
+    @PostMapping("/{id}/queue")
+    public ResponseEntity<?> enterQueue(@PathVariable Long id, Authentication authentication){
+        try{
+            QueueStatusResponse response = waitingRoomQueue.enter(id, authentication.getName());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e){
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e){
+            logger.error("오류 : ",e);
+            return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 대기 순번 / 입장 여부 조회
+    @GetMapping("/{id}/queue")
+    public ResponseEntity<?> getQueueStatus(@PathVariable Long id, Authentication authentication){
         try{
-            List<RoomGetResponse> response = roomService.getAllRooms();
+            QueueStatusResponse response = waitingRoomQueue.status(id, authentication.getName());
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e){
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (Exception e){
             logger.error("오류 : ",e);
             return new ResponseEntity<>("서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
@@ -10,6 +10,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/user")
 @RequiredArgsConstructor
@@ -30,6 +32,8 @@ public class UserController {
                 return new ResponseEntity<>("회원가입 실패: 서버 내부 오류", HttpStatus.INTERNAL_SERVER_ERROR);
             }
             return ResponseEntity.ok(response);
+        } catch (RejectedExecutionException e) {
+            return busy();
         } catch (Exception e) {
             logger.error("회원가입 중 예외 발생", e);
             return new ResponseEntity<>("회원가입 실패: " ,HttpStatus.INTERNAL_SERVER_ERROR);
@@ -49,6 +53,8 @@ public class UserController {
                 return new ResponseEntity<>("로그인 실패: 서버 내부 오류",HttpStatus.INTERNAL_SERVER_ERROR);
             }
             return ResponseEntity.ok(response);
+        } catch (RejectedExecutionException e) {
+            return busy();
         } catch (Exception e) {
             logger.error("로그인 중 예외 발생", e);
             return new ResponseEntity<>("로그인 실패: ",HttpStatus.INTERNAL_SERVER_ERROR);
@@ -131,4 +137,11 @@ public class UserController {
         }
 
     }
+
+    // BCrypt 대기열이 가득 찬 경우: 스레드를 잡고 기다리지 않고 바로 503
+    private ResponseEntity<?> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body("요청이 많아 잠시 후 다시 시도해 주세요.");
+    }
 }
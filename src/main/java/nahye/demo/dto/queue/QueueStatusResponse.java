@@ -0,0 +1,16 @@
+package nahye.demo.dto.queue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class QueueStatusResponse {
+    private Long roomId;
+    private String ticket;        // 입장 후 예약 요청의 X-Queue-Ticket 헤더로 사용
+    private boolean admitted;
+    private Long position;        // 대기 순번 (0부터), 입장했거나 대기열에 없으면 null
+    private Long estimatedWaitMs; // 현재 입장 속도 기준 예상 대기 시간
+}
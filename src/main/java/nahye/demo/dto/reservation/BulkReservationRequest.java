@@ -0,0 +1,19 @@
+package nahye.demo.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BulkReservationRequest {
+    private Long roomId;
+    private List<Integer> studentNums; // 이 순서대로 firstSeat 부터 연속 좌석 배정
+    private Integer firstSeat;         // 없으면 1번 좌석부터
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
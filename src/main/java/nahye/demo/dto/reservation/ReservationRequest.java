@@ -0,0 +1,17 @@
+package nahye.demo.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ReservationRequest {
+    private Long roomId;
+    private int seatNum;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,19 @@
+package nahye.demo.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ReservationResponse {
+    private Long id;
+    private Long roomId;
+    private String roomName;
+    private int seatNum;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
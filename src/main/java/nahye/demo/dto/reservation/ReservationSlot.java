@@ -0,0 +1,17 @@
+package nahye.demo.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 점유 인덱스 적재용 프로젝션 (엔티티/연관관계 로딩 없이 필요한 컬럼만 조회)
+@Getter
+@AllArgsConstructor
+public class ReservationSlot {
+    private Long id;
+    private Long roomId;
+    private int seatNum;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,21 @@
+package nahye.demo.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class AvailabilityResponse {
+    private Long roomId;
+    private LocalDate date;
+    private int slotMinutes;
+    private int seats;
+    private String format;          // json | rle
+    private List<String> rows;      // json: 좌석별 슬롯 문자열 ('1' = 예약됨), rle 이면 null
+    private List<List<Integer>> runs; // rle: 좌석별 빈/예약 구간 길이 (빈 구간부터 번갈아), json 이면 null
+}
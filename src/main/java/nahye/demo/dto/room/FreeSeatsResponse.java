@@ -0,0 +1,20 @@
+package nahye.demo.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class FreeSeatsResponse {
+    private Long roomId;
+    private LocalDate date;
+    private LocalTime from;
+    private LocalTime to;
+    private List<Integer> seats;
+}
@@ -0,0 +1,28 @@
+package nahye.demo.dto.room;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 실습실 상세 (RoomRepository.findDetail 의 집계 쿼리로 생성, nextFreeSlot 은 가용성 인덱스에서 채움)
+@Getter
+@Setter
+public class RoomDetailResponse {
+    private Long id;
+    private String roomName;
+    private int seats;
+    private int remainingSeats;
+    private String roomImg;
+    private long upcomingReservations;  // 아직 끝나지 않은 예약 수
+    private LocalDateTime nextFreeSlot; // 지금 이후 빈 좌석이 하나라도 있는 가장 이른 15분 슬롯 (오늘/내일 중, 없으면 null)
+
+    public RoomDetailResponse(Long id, String roomName, int seats, int remainingSeats, String roomImg, long upcomingReservations) {
+        this.id = id;
+        this.roomName = roomName;
+        this.seats = seats;
+        this.remainingSeats = remainingSeats;
+        this.roomImg = roomImg;
+        this.upcomingReservations = upcomingReservations;
+    }
+}
@@ -3,16 +3,14 @@ package nahye.demo.dto.room;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
-import nahye.demo.entity.Reservation;
-import nahye.demo.entity.Room;
-
-import java.util.List;
 
+// 실습실 목록 항목 (RoomRepository.findAllSummaries 에서 바로 생성)
 @Getter
 @Setter
 @AllArgsConstructor
 public class RoomGetResponse {
 
+    private Long id;
     private String roomName;
     private int seats;
     private int remainingSeats;
@@ -3,11 +3,9 @@ package nahye.demo.dto.room;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
-import nahye.demo.entity.Reservation;
 import nahye.demo.entity.Room;
 
-import java.util.List;
-
+// 실습실 생성 응답. 연관관계(예약 목록)는 담지 않음
 @Getter
 @Setter
 @AllArgsConstructor
@@ -17,7 +15,6 @@ public class RoomResponse {
     private int seats;
     private int remainingSeats;
     private String roomImg;
-    private List<Reservation> reservations;
 
     public RoomResponse(Room room){
         this.id = room.getId();
@@ -25,13 +22,5 @@ public class RoomResponse {
         this.seats = room.getSeats();
         this.remainingSeats = room.getRemainingSeats();
         this.roomImg = room.getRoomImg() ;
-        this.reservations = room.getReservations();
-    }
-
-    public RoomResponse(String roomName, int seats, int remainingSeats, String roomImg){
-        this.roomName = roomName;
-        this.seats = seats;
-        this.remainingSeats = remainingSeats;
-        this.roomImg = roomImg;
     }
 }
@@ -0,0 +1,11 @@
+package nahye.demo.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RoomSeatCount {
+    private Long id;
+    private int remainingSeats;
+}
@@ -0,0 +1,17 @@
+package nahye.demo.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class SeatChange {
+    private int seatNum;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private boolean booked;
+}
@@ -0,0 +1,17 @@
+package nahye.demo.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// SSE 로 보내는 프레임. 한 주기 동안의 변경을 실습실별로 묶음
+@Getter
+@Setter
+@AllArgsConstructor
+public class SeatChangeFrame {
+    private Long roomId;
+    private Integer remainingSeats;
+    private List<SeatChange> changes;
+}
@@ -0,0 +1,14 @@
+package nahye.demo.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+// SSE 구독용 단기 토큰. EventSource 는 헤더를 못 보내므로 ?stream_token= 으로 전달
+@Getter
+@Setter
+@AllArgsConstructor
+public class StreamTokenResponse {
+    private String streamToken;
+    private long expiresInMs;
+}
@@ -0,0 +1,15 @@
+package nahye.demo.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class AdminUserPageResponse {
+    private List<AdminUserResponse> users;
+    private Long nextCursor; // 마지막 페이지면 null
+}
@@ -8,6 +8,7 @@ import lombok.Setter;
 @Setter
 @AllArgsConstructor
 public class AdminUserResponse {
+    private Long id;
     private int studentNum;
     private String username;
     private String userId;
@@ -0,0 +1,15 @@
+package nahye.demo.entity;
+
+/**
+ * 엔티티 id 생성 설정.
+ * MySQL 에는 시퀀스가 없으므로 id_generator 테이블의 행 하나를 엔티티별 시퀀스로 사용하고,
+ * pooled 옵티마이저로 ALLOCATION_SIZE 개씩 미리 할당해 INSERT 배치가 가능하게 합니다.
+ * 기존 IDENTITY 데이터가 있는 DB 는 각 행의 next_val 을 해당 테이블의 max(id) + 1 이상으로 맞춰야 합니다.
+ */
+public final class IdGeneration {
+    public static final String TABLE = "id_generator";
+    public static final int ALLOCATION_SIZE = 50; // hibernate.jdbc.batch_size 와 같게 유지
+
+    private IdGeneration() {
+    }
+}
@@ -3,19 +3,26 @@ package nahye.demo.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_token")
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_user_id", columnList = "user_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class RefreshToken {
+public class RefreshToken implements Persistable<String> {
     @Id
     private String token;
 
@@ -24,4 +31,25 @@ public class RefreshToken {
 
     @Column(name ="expiry_date", nullable = false)
     private LocalDateTime expiryDate;
+
+    // id 를 직접 넣는 엔티티라 save() 가 merge(SELECT + INSERT) 로 처리되지 않도록 새 엔티티임을 알림
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return token;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
@@ -12,10 +12,16 @@ import java.time.LocalTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_room_start", columnList = "room_id, start_time"),
+        @Index(name = "idx_reservations_user_start", columnList = "user_id, start_time"),
+        @Index(name = "idx_reservations_end", columnList = "end_time") // 점유 인덱스/만료 타이머 적재
+})
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "reservation_id")
+    @TableGenerator(name = "reservation_id", table = IdGeneration.TABLE, pkColumnValue = "reservations",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, name = "seat_num")
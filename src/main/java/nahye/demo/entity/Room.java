@@ -2,6 +2,7 @@ package nahye.demo.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,10 +13,14 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+        @Index(name = "uk_rooms_room_name", columnList = "room_name", unique = true)
+})
 public class Room {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "room_id")
+    @TableGenerator(name = "room_id", table = IdGeneration.TABLE, pkColumnValue = "rooms",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, name = "room_name")
@@ -30,6 +35,12 @@ public class Room {
     @Column(nullable = false, name = "room_img")
     private String roomImg;
 
+    // seat-counter=optimistic 의 충돌 감지용. 남은 좌석을 바꾸는 조건부 UPDATE 도 함께 올림
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @Builder.Default
     @OneToMany(mappedBy = "room")
     private List<Reservation> reservations = new ArrayList<>();
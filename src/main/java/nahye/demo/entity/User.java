@@ -21,7 +21,9 @@ import java.util.List;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = IdGeneration.TABLE, pkColumnValue = "users",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(unique = true, length = 5, name = "student_num")
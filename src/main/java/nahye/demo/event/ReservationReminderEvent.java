@@ -0,0 +1,16 @@
+package nahye.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 예약 시작 전 알림 시점이 된 예약 (클러스터에서 한 노드만 발행)
+@Getter
+@AllArgsConstructor
+public class ReservationReminderEvent {
+    private final Long reservationId;
+    private final Long roomId;
+    private final int seatNum;
+    private final LocalDateTime startTime;
+}
@@ -0,0 +1,22 @@
+package nahye.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 노드 간 변경 피드(Redis pub/sub) 메시지. seatNum 이 null 이면 실습실 단위 변경
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomChangeMessage {
+    private String nodeId;
+    private Long roomId;
+    private Integer seatNum;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private boolean booked;
+}
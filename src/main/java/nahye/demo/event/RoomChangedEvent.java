@@ -0,0 +1,16 @@
+package nahye.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 실습실 정보나 남은 좌석 수가 바뀌었음을 알리는 이벤트
+@Getter
+@AllArgsConstructor
+public class RoomChangedEvent {
+    private final Long roomId;
+    private final boolean remote; // 다른 노드에서 발생해 변경 피드로 전달된 경우 true
+
+    public RoomChangedEvent(Long roomId) {
+        this(roomId, false);
+    }
+}
@@ -0,0 +1,22 @@
+package nahye.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 좌석 하나가 예약(booked=true)되거나 비워진(booked=false) 이벤트
+@Getter
+@AllArgsConstructor
+public class SeatChangedEvent {
+    private final Long roomId;
+    private final int seatNum;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final boolean booked;
+    private final boolean remote; // 다른 노드에서 발생해 변경 피드로 전달된 경우 true
+
+    public SeatChangedEvent(Long roomId, int seatNum, LocalDateTime startTime, LocalDateTime endTime, boolean booked) {
+        this(roomId, seatNum, startTime, endTime, booked, false);
+    }
+}
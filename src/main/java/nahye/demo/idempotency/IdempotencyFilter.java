@@ -0,0 +1,237 @@
+package nahye.demo.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import nahye.demo.config.CachedBodyRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key 헤더 처리 (예약/회원가입 POST).
+ * 같은 사용자·경로·키의 첫 요청만 실행하고 응답을 저장해 두었다가, 재시도에는 저장된 응답을 그대로 돌려줍니다.
+ * 첫 요청이 아직 처리 중이면 재시도는 실행하지 않고 결과가 나올 때까지 기다립니다
+ * (같은 노드면 메모리에서 완료를 기다리고, 다른 노드면 Redis 를 간격을 늘려 가며 확인).
+ * 5xx 와 인증/요청 제한 응답은 저장하지 않으므로 그런 재시도는 다시 실행됩니다.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final IdempotencyStore store;
+    // 이 노드에서 처리 중인 키 -> 완료 신호
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> outcomes = new HashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public IdempotencyFilter(IdempotencyStore store, MeterRegistry meterRegistry) {
+        this.store = store;
+        for (String outcome : new String[]{"executed", "replayed", "in_progress", "mismatch"}) {
+            outcomes.put(outcome, Counter.builder("sejali.idempotency.requests")
+                    .description("Idempotency-Key 요청 처리 결과")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HEADER) == null
+                || !store.isTarget(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            write(response, HttpStatus.BAD_REQUEST.value(), "Idempotency-Key 는 1~255자여야 합니다.");
+            return;
+        }
+        CachedBodyRequest cached = CachedBodyRequest.of(request, MAX_BODY_BYTES);
+        if (cached == null) {
+            write(response, HttpStatus.PAYLOAD_TOO_LARGE.value(), "Idempotency-Key 를 쓰는 요청의 본문이 너무 큽니다.");
+            return;
+        }
+
+        String key = scope(cached) + ":" + cached.getRequestURI() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(cached);
+        long deadline = System.currentTimeMillis() + store.getWaitMillis();
+        long backoff = 20;
+
+        while (true) {
+            String pending;
+            StoredResponse stored;
+            try {
+                pending = store.tryAcquire(key, StoredResponse.pending(UUID.randomUUID().toString(), fingerprint));
+                stored = pending == null ? store.read(key) : null;
+            } catch (RuntimeException e) {
+                // Redis 장애 시에는 멱등 처리 없이 실행 (기존 동작)
+                logger.warn("멱등 키 조회 실패, 그대로 처리: key={}", key, e);
+                filterChain.doFilter(cached, response);
+                return;
+            }
+            if (pending != null) {
+                execute(key, pending, fingerprint, cached, response, filterChain);
+                return;
+            }
+
+            if (stored == null) {
+                continue; // 첫 요청이 저장 없이 끝남 (5xx) -> 이번 요청이 실행
+            }
+            if (!fingerprint.equals(stored.getFingerprint())) {
+                outcomes.get("mismatch").increment();
+                write(response, HttpStatus.UNPROCESSABLE_ENTITY.value(), "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+                return;
+            }
+            if (stored.isCompleted()) {
+                outcomes.get("replayed").increment();
+                replay(stored, response);
+                return;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            // 인터럽트되면(종료 중 등) 이후 대기가 모두 바로 끝나 Redis 를 연달아 조회하게 되므로 기다리지 않고 응답
+            if (remaining <= 0 || !awaitCompletion(key, Math.min(backoff, remaining))) {
+                outcomes.get("in_progress").increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                write(response, HttpStatus.CONFLICT.value(), "같은 요청을 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+                return;
+            }
+            backoff = Math.min(backoff * 2, 500);
+        }
+    }
+
+    private void execute(String key, String pending, String fingerprint, CachedBodyRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        inFlight.put(key, done);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            outcomes.get("executed").increment();
+            if (isReplayable(wrapper.getStatus())) {
+                stored = complete(key, pending, new StoredResponse(null, fingerprint, true, wrapper.getStatus(),
+                        wrapper.getContentType(), wrapper.getContentAsByteArray()));
+            }
+        } finally {
+            if (!stored) {
+                try {
+                    store.release(key, pending);
+                } catch (RuntimeException e) {
+                    logger.warn("멱등 키 해제 실패 (처리 중 표시는 TTL 후 만료): key={}", key, e);
+                }
+            }
+            inFlight.remove(key, done);
+            done.complete(null);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // 저장에 실패해도 이미 처리된 요청이므로 응답은 그대로 보냄 (처리 중 표시는 해제)
+    private boolean complete(String key, String pending, StoredResponse response) {
+        try {
+            store.complete(key, pending, response);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("멱등 키 응답 저장 실패: key={}", key, e);
+            return false;
+        }
+    }
+
+    // 같은 노드의 첫 요청이면 완료 신호를, 아니면 잠시 기다렸다가 Redis 를 다시 확인. 인터럽트되면 false
+    private boolean awaitCompletion(String key, long millis) {
+        CompletableFuture<Void> local = inFlight.get(key);
+        try {
+            if (local != null) {
+                local.get(millis, TimeUnit.MILLISECONDS);
+            } else {
+                Thread.sleep(millis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            // 시간 안에 끝나지 않음 -> 호출한 쪽에서 다시 확인
+        }
+        return true;
+    }
+
+    // 다시 실행해도 같은 결과가 나오는 응답만 저장 (서버 오류, 인증 실패, 요청 제한은 재시도가 다시 실행되게)
+    private static boolean isReplayable(int status) {
+        return status < 500
+                && status != HttpStatus.UNAUTHORIZED.value()
+                && status != HttpStatus.FORBIDDEN.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getBody() != null) {
+            response.getOutputStream().write(stored.getBody());
+        }
+    }
+
+    private static void write(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+
+    // 키는 사용자별. 회원가입처럼 인증 전 요청은 클라이언트 IP 별로 나눠 다른 클라이언트가 같은 키로
+    // 남의 응답을 받거나 요청을 막지 못하게 함 (프록시 뒤에서는 server.forward-headers-strategy 설정 필요)
+    private static String scope(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return "anonymous@" + request.getRemoteAddr();
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(request.getBody());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
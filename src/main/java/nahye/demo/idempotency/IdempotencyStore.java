@@ -0,0 +1,155 @@
+package nahye.demo.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotency-Key 저장소 (Redis).
+ * 첫 요청이 SET NX 로 처리 중 표시를 남기고, 끝나면 같은 키에 응답을 덮어써 TTL 동안 보관합니다.
+ * 처리 중 표시는 짧은 TTL 을 두어 처리하던 노드가 죽어도 키가 영원히 잠기지 않고,
+ * 처리가 TTL 보다 오래 걸려도 다른 요청이 가져가지 않도록 살아 있는 노드가 주기적으로 TTL 을 연장합니다.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    // 내가 남긴 처리 중 표시일 때만 응답으로 교체 (표시가 만료돼 다른 요청이 가져간 경우 덮어쓰지 않음)
+    // KEYS[1]: 키, ARGV[1]: 처리 중 값, ARGV[2]: 응답 값, ARGV[3]: TTL(ms)
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    // 내 처리 중 표시일 때만 TTL 연장
+    // KEYS[1]: 키, ARGV[1]: 처리 중 값, ARGV[2]: TTL(ms)
+    private static final RedisScript<Long> EXTEND_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Set<String> paths;
+    private final Duration responseTtl;
+    private final Duration pendingTtl;
+    private final long waitMillis;
+    // 이 노드가 처리 중인 키 -> 처리 중 값 (TTL 연장 대상)
+    private final Map<String, String> held = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public IdempotencyStore(RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper,
+                            @Value("${sejali.idempotency.paths:/reservation,/user/signup}") Set<String> paths,
+                            @Value("${sejali.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${sejali.idempotency.pending-ttl-seconds:30}") long pendingTtlSeconds,
+                            @Value("${sejali.idempotency.wait-ms:5000}") long waitMillis) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.paths = paths;
+        this.responseTtl = Duration.ofHours(ttlHours);
+        this.pendingTtl = Duration.ofSeconds(pendingTtlSeconds);
+        this.waitMillis = waitMillis;
+    }
+
+    public boolean isTarget(String method, String path) {
+        return "POST".equals(method) && paths.contains(path);
+    }
+
+    // 같은 요청이 처리 중일 때 기다리는 최대 시간
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    // 처리 중 표시를 남기면 그 값(완료/해제에 사용), 이미 키가 있으면 null
+    public String tryAcquire(String key, StoredResponse pending) {
+        String value = write(pending);
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, value, pendingTtl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return null;
+        }
+        held.put(key, value);
+        return value;
+    }
+
+    public StoredResponse read(String key) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("멱등 키 값 해석 실패", e);
+        }
+    }
+
+    public void complete(String key, String pendingValue, StoredResponse response) {
+        try {
+            redisTemplate.execute(COMPLETE_SCRIPT, List.of(KEY_PREFIX + key),
+                    pendingValue, write(response), String.valueOf(responseTtl.toMillis()));
+        } finally {
+            held.remove(key, pendingValue);
+        }
+    }
+
+    // 저장하지 않을 응답(5xx 등)이면 키를 지워 재시도가 다시 실행되게 함
+    public void release(String key, String pendingValue) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + key), pendingValue);
+        } finally {
+            held.remove(key, pendingValue);
+        }
+    }
+
+    // 처리 중인 요청의 표시 TTL 연장. 주기는 TTL 의 1/3 이하로 두어야 함 (노드가 죽으면 연장이 멈춰 TTL 안에 풀림)
+    @Scheduled(fixedDelayString = "${sejali.idempotency.pending-refresh-ms:10000}")
+    public void refreshPending() {
+        String ttl = String.valueOf(pendingTtl.toMillis());
+        for (Map.Entry<String, String> entry : held.entrySet()) {
+            try {
+                Long extended = redisTemplate.execute(EXTEND_SCRIPT, List.of(KEY_PREFIX + entry.getKey()), entry.getValue(), ttl);
+                if (extended == null || extended == 0) {
+                    // 이미 만료돼 다른 요청이 가져감 -> 더 연장하지 않음 (완료 시 덮어쓰지 않는 것은 COMPLETE_SCRIPT 가 보장)
+                    held.remove(entry.getKey(), entry.getValue());
+                }
+            } catch (RuntimeException e) {
+                logger.warn("멱등 키 처리 중 표시 연장 실패: key={}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private String write(StoredResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("멱등 키 값 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package nahye.demo.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 멱등 키에 저장되는 값. 처리 중에는 owner 만, 처리가 끝나면 응답까지 담음
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredResponse {
+    private String owner;        // 처리 중인 요청의 임의 토큰 (완료/해제 시 본인 확인)
+    private String fingerprint;  // 메서드 + 경로 + 본문 해시 (같은 키로 다른 요청을 보내면 거절)
+    private boolean completed;
+    private int status;
+    private String contentType;
+    private byte[] body;
+
+    public static StoredResponse pending(String owner, String fingerprint) {
+        return new StoredResponse(owner, fingerprint, false, 0, null, null);
+    }
+}
@@ -0,0 +1,89 @@
+package nahye.demo.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경로별 전체 노드 합산 초당 한도.
+ * 요청마다 Redis 를 호출하지 않고 노드에서 센 건수를 주기적으로(sync-interval-ms) 1초 창 카운터에 더한 뒤
+ * 합계가 한도를 넘었으면 그 창이 끝날 때까지 이 노드에서 거절합니다.
+ * 초과 허용량은 (노드 수 x 동기화 주기 동안의 요청 수) 이내이고, Redis 장애 시에는 제한하지 않습니다.
+ */
+@Component
+public class GlobalRateBudget {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // KEYS[1]: 창 카운터, ARGV[1]: 이 노드에서 센 건수, ARGV[2]: 카운터 TTL(ms)
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            local total = redis.call('INCRBY', KEYS[1], ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return total
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalRateBudget.class);
+
+    public GlobalRateBudget(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // 요청 경로: volatile 읽기 한 번 + LongAdder 증가
+    public boolean tryAcquire(String route, long perSecond) {
+        Budget budget = budgets.computeIfAbsent(route, name -> new Budget(perSecond));
+        if (budget.exhaustedUntil > System.currentTimeMillis()) {
+            return false;
+        }
+        budget.pending.increment();
+        return true;
+    }
+
+    // 다음 요청까지 남은 시간 (Retry-After 용)
+    public long millisUntilReset() {
+        return 1000 - System.currentTimeMillis() % 1000;
+    }
+
+    @Scheduled(fixedDelayString = "${sejali.rate-limit.sync-interval-ms:100}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        long window = now / 1000;
+        budgets.forEach((route, budget) -> {
+            long count = budget.pending.sumThenReset();
+            if (count == 0) {
+                return;
+            }
+            try {
+                Long total = redisTemplate.execute(ADD_SCRIPT,
+                        List.of(KEY_PREFIX + "{" + route + "}:" + window),
+                        String.valueOf(count), "2000");
+                if (total != null && total >= budget.perSecond) {
+                    budget.exhaustedUntil = (window + 1) * 1000;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("전체 요청 한도 동기화 실패 (제한 없이 진행): route={}", route, e);
+            }
+        });
+    }
+
+    private static final class Budget {
+        private final long perSecond;
+        private final LongAdder pending = new LongAdder();
+        private volatile long exhaustedUntil;
+
+        private Budget(long perSecond) {
+            this.perSecond = perSecond;
+        }
+    }
+}
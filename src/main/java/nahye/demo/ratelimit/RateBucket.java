@@ -0,0 +1,28 @@
+package nahye.demo.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GCRA(Generic Cell Rate Algorithm) 방식의 토큰 버킷.
+ * 토큰 수 대신 "다음 요청이 이론상 도착해야 하는 시각(TAT)" 하나만 저장하므로
+ * 판정은 AtomicLong 읽기 + CAS 한 번이고 락이 없습니다.
+ */
+final class RateBucket {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    // 허용이면 0, 거절이면 다시 시도할 수 있을 때까지 남은 나노초
+    long tryAcquire(long nowNanos, long intervalNanos, int burst) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + intervalNanos;
+            long allowAt = next - (long) burst * intervalNanos;
+            if (allowAt > nowNanos) {
+                return allowAt - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package nahye.demo.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import nahye.demo.config.CachedBodyRequest;
+import nahye.demo.config.JwtTokenProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 경로별 요청 제한 필터 (JwtAuthenticationFilter 앞).
+ * 1단계: 노드 메모리의 IP/사용자별 GCRA 버킷 (CAS 한 번), 2단계: Redis 로 합산하는 전체 초당 한도.
+ * 거절하면 DB/BCrypt/Redis 를 거치지 않고 바로 429 와 Retry-After 를 돌려줍니다.
+ * IP 는 request.getRemoteAddr() 이므로 프록시 뒤에서는 server.forward-headers-strategy 를 설정해야 합니다.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 8 * 1024; // 사용자 키를 읽는 요청(로그인/재발급)의 본문 최대 크기
+
+    private final List<CompiledRoute> routes;
+    private final Cache<String, RateBucket> buckets;
+    private final GlobalRateBudget globalBudget;
+    private final JwtTokenProvider tokenProvider;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Counter> rejections = new HashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties, GlobalRateBudget globalBudget,
+                           JwtTokenProvider tokenProvider, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.routes = properties.getRoutes().stream().map(CompiledRoute::new).toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build();
+        this.globalBudget = globalBudget;
+        this.tokenProvider = tokenProvider;
+        this.objectMapper = objectMapper;
+        for (CompiledRoute route : routes) {
+            for (String tier : List.of("ip", "user", "global")) {
+                rejections.put(route.name + ":" + tier, Counter.builder("sejali.ratelimit.rejected")
+                        .description("요청 제한으로 거절한 요청")
+                        .tag("route", route.name)
+                        .tag("tier", tier)
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        CompiledRoute route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        HttpServletRequest target = request;
+        long now = System.nanoTime();
+
+        if (route.ipInterval > 0) {
+            long wait = bucket(route.name + ":ip:" + request.getRemoteAddr()).tryAcquire(now, route.ipInterval, route.ipBurst);
+            if (wait > 0) {
+                reject(response, route, "ip", wait);
+                return;
+            }
+        }
+
+        if (route.userInterval > 0) {
+            String userKey = null;
+            if (route.userKey == RateLimitProperties.UserKey.BODY || route.userKey == RateLimitProperties.UserKey.REFRESH_TOKEN) {
+                // 본문이 너무 크면 사용자 키를 건너뛰지 않고 거절 (chunked 로 보내 계정 단위 제한을 피하지 못하게)
+                CachedBodyRequest cached = CachedBodyRequest.of(request, MAX_BODY_BYTES);
+                if (cached == null) {
+                    tooLarge(response);
+                    return;
+                }
+                target = cached;
+                userKey = route.userKey == RateLimitProperties.UserKey.BODY
+                        ? textField(cached.getBody(), "userId")
+                        : subjectOfToken(textField(cached.getBody(), "refreshToken"));
+            } else if (route.userKey == RateLimitProperties.UserKey.TOKEN) {
+                String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+                userKey = header != null && header.startsWith("Bearer ") ? subjectOfToken(header.substring(7)) : null;
+            }
+            if (userKey != null) {
+                long wait = bucket(route.name + ":user:" + userKey).tryAcquire(now, route.userInterval, route.userBurst);
+                if (wait > 0) {
+                    reject(response, route, "user", wait);
+                    return;
+                }
+            }
+        }
+
+        if (route.globalPerSecond > 0 && !globalBudget.tryAcquire(route.name, route.globalPerSecond)) {
+            reject(response, route, "global", TimeUnit.MILLISECONDS.toNanos(globalBudget.millisUntilReset()));
+            return;
+        }
+
+        filterChain.doFilter(target, response);
+    }
+
+    private CompiledRoute match(HttpServletRequest request) {
+        PathContainer path = null;
+        for (CompiledRoute route : routes) {
+            if (!route.method.equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (route.pattern.matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private RateBucket bucket(String key) {
+        return buckets.get(key, k -> new RateBucket());
+    }
+
+    private void reject(HttpServletResponse response, CompiledRoute route, String tier, long waitNanos) throws IOException {
+        rejections.get(route.name + ":" + tier).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private static void tooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("요청 본문이 너무 큽니다.");
+    }
+
+    // 본문 JSON 의 문자열 필드 (형식이 잘못됐으면 사용자 제한 없이 IP/전체 한도만 적용. 컨트롤러가 400 으로 처리)
+    private String textField(byte[] body, String field) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            JsonNode value = node == null ? null : node.get(field);
+            return value != null && value.isTextual() ? value.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // 검증된 토큰의 subject 만 사용 (위조 토큰으로 다른 사용자의 버킷을 소진시키지 못하게). 결과는 토큰 캐시에 남아 뒤에서 재사용
+    private String subjectOfToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            return tokenProvider.parseAndVerify(token).getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final class CompiledRoute {
+        private final String name;
+        private final String method;
+        private final PathPattern pattern;
+        private final long ipInterval;
+        private final int ipBurst;
+        private final RateLimitProperties.UserKey userKey;
+        private final long userInterval;
+        private final int userBurst;
+        private final long globalPerSecond;
+
+        private CompiledRoute(RateLimitProperties.Route route) {
+            this.name = route.getName();
+            this.method = route.getMethod();
+            this.pattern = PathPatternParser.defaultInstance.parse(route.getPath());
+            this.ipInterval = interval(route.getIpRate());
+            this.ipBurst = Math.max(1, route.getIpBurst());
+            this.userKey = route.getUserKey() == null ? RateLimitProperties.UserKey.NONE : route.getUserKey();
+            this.userInterval = this.userKey == RateLimitProperties.UserKey.NONE ? 0 : interval(route.getUserRate());
+            this.userBurst = Math.max(1, route.getUserBurst());
+            this.globalPerSecond = route.getGlobalPerSecond();
+        }
+
+        // 초당 허용 수 -> 요청 간격(ns). 0 이하면 제한 없음
+        private static long interval(double perSecond) {
+            return perSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / perSecond) : 0;
+        }
+    }
+}
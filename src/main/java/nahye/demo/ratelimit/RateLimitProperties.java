@@ -0,0 +1,60 @@
+package nahye.demo.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 경로별 요청 제한 (sejali.rate-limit.*).
+ * 설정 파일에서 routes 를 지정하면 아래 기본 목록 전체를 대체합니다.
+ * 예) sejali.rate-limit.routes[0].name=login, .method=POST, .path=/user/login,
+ *     .ip-rate=20, .ip-burst=200, .user-key=body, .user-rate=0.1, .user-burst=5, .global-per-second=200
+ *
+ * IP 단위 제한은 남용 상한으로만 느슨하게 둡니다. 학기 초에는 캠퍼스 Wi-Fi 의 학생 수백 명이
+ * NAT 주소 몇 개를 같이 쓰므로, IP 단위로 빡빡하게 막으면 같은 주소 뒤의 모두가 함께 기다립니다.
+ * 부하 상한은 global-per-second(전체 노드 합산), 계정 단위 남용은 사용자 키 제한이 맡습니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sejali.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 노드별 버킷 최대 개수 (IP 를 바꿔 가며 보내도 메모리가 늘지 않게)
+    private long maxBuckets = 100_000;
+
+    private List<Route> routes = new ArrayList<>(List.of(
+            // BCrypt + DB 조회. 계정 단위 제한으로 비밀번호 대입도 막음 (IP 단위는 NAT 뒤 다수 사용자 기준)
+            new Route("login", "POST", "/user/login", 20, 200, UserKey.BODY, 0.1, 5, 200),
+            // 리프레시 토큰 subject 단위 제한 (유출된 토큰 하나로 재발급을 몰아 보내지 못하게)
+            new Route("refresh", "POST", "/user/refresh", 1, 20, UserKey.REFRESH_TOKEN, 0.1, 5, 500),
+            // 가입은 계정 키가 없으므로 IP 단위는 한 강의실이 한 주소로 몰려도 버티는 정도, 상한은 전역 50/s
+            new Route("signup", "POST", "/user/signup", 2, 100, UserKey.NONE, 0, 0, 50),
+            new Route("reserve", "POST", "/reservation", 5, 30, UserKey.TOKEN, 1, 5, 1000)
+    ));
+
+    // 사용자 키를 어디서 얻는지: 없음 / 요청 본문의 userId / 액세스 토큰의 subject / 요청 본문 refreshToken 의 subject
+    public enum UserKey { NONE, BODY, TOKEN, REFRESH_TOKEN }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private String name;
+        private String method;
+        private String path;
+        private double ipRate;          // IP 별 초당 허용 (0 이면 제한 없음)
+        private int ipBurst;
+        private UserKey userKey = UserKey.NONE;
+        private double userRate;        // 사용자별 초당 허용 (0 이면 제한 없음)
+        private int userBurst;
+        private long globalPerSecond;   // 전체 노드 합산 초당 허용 (0 이면 제한 없음)
+    }
+}
@@ -2,10 +2,21 @@ package nahye.demo.repository;
 
 import nahye.demo.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
     Optional<RefreshToken> findByToken(String token);
-    void deleteByUserId(String userId);
+
+    // 파생 delete 는 전부 조회한 뒤 한 건씩 지우므로 DELETE 한 문장으로 처리
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.token = :token")
+    int deleteByToken(@Param("token") String token);
 }
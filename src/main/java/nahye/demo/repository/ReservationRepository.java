@@ -0,0 +1,46 @@
+package nahye.demo.repository;
+
+import nahye.demo.dto.reservation.ReservationResponse;
+import nahye.demo.dto.reservation.ReservationSlot;
+import nahye.demo.entity.Reservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    @Query("select new nahye.demo.dto.reservation.ReservationSlot(r.id, r.room.id, r.seatNum, r.startTime, r.endTime) " +
+            "from Reservation r where r.endTime > :now")
+    List<ReservationSlot> findActiveSlots(@Param("now") LocalDateTime now);
+
+    // Redis 좌석 카운터/비트맵 재적재용 (claim-store=redis)
+    @Query("select new nahye.demo.dto.reservation.ReservationSlot(r.id, r.room.id, r.seatNum, r.startTime, r.endTime) " +
+            "from Reservation r where r.room.id = :roomId and r.endTime > :now")
+    List<ReservationSlot> findActiveRoomSlots(@Param("roomId") Long roomId, @Param("now") LocalDateTime now);
+
+    // 좌석 가용성 격자 적재용: [from, to) 와 겹치는 실습실 예약
+    @Query("select new nahye.demo.dto.reservation.ReservationSlot(r.id, r.room.id, r.seatNum, r.startTime, r.endTime) " +
+            "from Reservation r where r.room.id = :roomId and r.startTime < :to and r.endTime > :from")
+    List<ReservationSlot> findRoomSlotsOverlapping(@Param("roomId") Long roomId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    // 만료 타이머 적재용: (from, to] 사이에 끝나는 예약
+    @Query("select new nahye.demo.dto.reservation.ReservationSlot(r.id, r.room.id, r.seatNum, r.startTime, r.endTime) " +
+            "from Reservation r where r.endTime > :from and r.endTime <= :to")
+    List<ReservationSlot> findSlotsEndingBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 알림 타이머 적재용: (from, to] 사이에 시작하는 예약
+    @Query("select new nahye.demo.dto.reservation.ReservationSlot(r.id, r.room.id, r.seatNum, r.startTime, r.endTime) " +
+            "from Reservation r where r.startTime > :from and r.startTime <= :to")
+    List<ReservationSlot> findSlotsStartingBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new nahye.demo.dto.reservation.ReservationResponse(r.id, r.room.id, r.room.roomName, r.seatNum, r.startTime, r.endTime) " +
+            "from Reservation r where r.user.userId = :userId and r.endTime > :now order by r.startTime")
+    List<ReservationResponse> findUpcomingByUserId(@Param("userId") String userId, @Param("now") LocalDateTime now);
+}
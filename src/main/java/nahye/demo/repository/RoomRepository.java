@@ -1,12 +1,70 @@
 package nahye.demo.repository;
 
+import nahye.demo.dto.room.RoomDetailResponse;
+import nahye.demo.dto.room.RoomGetResponse;
+import nahye.demo.dto.room.RoomSeatCount;
 import nahye.demo.entity.Room;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
     Room findByRoomName(String roomName);
+
+    // 목록/상세 응답은 엔티티를 거치지 않고 필요한 컬럼과 집계만 조회 (예약이 늘어도 응답 크기 일정)
+    @Query("select new nahye.demo.dto.room.RoomGetResponse(r.id, r.roomName, r.seats, r.remainingSeats, r.roomImg) " +
+            "from Room r order by r.id")
+    List<RoomGetResponse> findAllSummaries();
+
+    @Query("select new nahye.demo.dto.room.RoomDetailResponse(r.id, r.roomName, r.seats, r.remainingSeats, r.roomImg, " +
+            "(select count(x) from Reservation x where x.room.id = r.id and x.endTime > :now)) " +
+            "from Room r where r.id = :id")
+    Optional<RoomDetailResponse> findDetail(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("select new nahye.demo.dto.room.RoomSeatCount(r.id, r.remainingSeats) from Room r where r.id in :ids")
+    List<RoomSeatCount> findSeatCounts(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.id from Room r order by r.id")
+    List<Long> findAllIds();
+
+    // 남은 좌석 수는 조회-수정-저장 대신 조건부 UPDATE 한 번으로 변경 (갱신 유실 방지)
+    // version 도 올려야 seat-counter=optimistic 의 읽고-수정-저장이 이 변경과의 충돌을 감지함
+    @Modifying
+    @Query("update Room r set r.remainingSeats = r.remainingSeats - 1, r.version = r.version + 1 where r.id = :id and r.remainingSeats > 0")
+    int decrementRemainingSeats(@Param("id") Long id);
+
+    // 단체 예약: 남은 좌석이 count 이상일 때만 한 번에 감소
+    @Modifying
+    @Query("update Room r set r.remainingSeats = r.remainingSeats - :count, r.version = r.version + 1 where r.id = :id and r.remainingSeats >= :count")
+    int decrementRemainingSeatsBy(@Param("id") Long id, @Param("count") int count);
+
+    List<Room> findAllByRoomNameIn(Collection<String> roomNames);
+
+    // 취소 커밋 이후에 호출되므로 별도 트랜잭션으로 실행
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("update Room r set r.remainingSeats = r.remainingSeats + 1, r.version = r.version + 1 where r.id = :id and r.remainingSeats < r.seats")
+    int incrementRemainingSeats(@Param("id") Long id);
+
+    // 예약 트랜잭션 밖에서 먼저 커밋된 감소를 되돌림 (롤백 이후에 호출되므로 별도 트랜잭션)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("update Room r set r.remainingSeats = r.remainingSeats + :count, r.version = r.version + 1 where r.id = :id and r.remainingSeats + :count <= r.seats")
+    int incrementRemainingSeatsBy(@Param("id") Long id, @Param("count") int count);
+
+    // Redis 카운터 값으로 덮어쓰기 (claim-store=redis)
+    @Transactional
+    @Modifying
+    @Query("update Room r set r.remainingSeats = :remaining, r.version = r.version + 1 where r.id = :id")
+    int updateRemainingSeats(@Param("id") Long id, @Param("remaining") int remaining);
 }
@@ -1,13 +1,31 @@
 package nahye.demo.repository;
 
+import nahye.demo.dto.user.AdminUserResponse;
 import nahye.demo.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUserId(String userId);
     Optional<User> findByStudentNum(int studentNum);
+    List<User> findAllByStudentNumIn(Collection<Integer> studentNums);
+
+    boolean existsByUserId(String userId);
+
+    // 키셋 페이지네이션: 엔티티 대신 DTO 로 바로 조회 (영속성 컨텍스트에 쌓이지 않음)
+    @Query("select new nahye.demo.dto.user.AdminUserResponse(u.id, u.studentNum, u.username, u.userId) " +
+            "from User u where u.id > :cursor order by u.id")
+    List<AdminUserResponse> findPageAfterId(@Param("cursor") long cursor, Pageable pageable);
+
+    @Query("select new nahye.demo.dto.user.AdminUserResponse(u.id, u.studentNum, u.username, u.userId) " +
+            "from User u where u.studentNum > :cursor order by u.studentNum")
+    List<AdminUserResponse> findPageAfterStudentNum(@Param("cursor") int cursor, Pageable pageable);
 }
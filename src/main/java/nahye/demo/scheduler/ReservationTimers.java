@@ -0,0 +1,177 @@
+package nahye.demo.scheduler;
+
+import nahye.demo.booking.SeatClaimStore;
+import nahye.demo.dto.reservation.ReservationSlot;
+import nahye.demo.entity.Room;
+import nahye.demo.event.ReservationReminderEvent;
+import nahye.demo.event.SeatChangedEvent;
+import nahye.demo.repository.ReservationRepository;
+import nahye.demo.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 예약 만료(좌석 반환)와 시작 전 알림 타이머.
+ * 앞으로 horizon 안에 끝나거나 시작하는 예약만 주기적으로 DB 에서 읽어 타이밍 휠에 올리고(지연 적재),
+ * 모든 노드가 같은 타이머를 갖되 실행 직전 Redis SET NX 로 한 노드만 실제로 실행합니다.
+ * 취소된 예약은 취소한 노드가 같은 키를 먼저 잡으므로 좌석 반환은 취소/만료 중 한 번만 일어납니다.
+ */
+@Component
+public class ReservationTimers {
+
+    private static final String FIRED_PREFIX = "timer:fired:";
+    private static final Duration FIRED_TTL = Duration.ofDays(2);
+    private static final long RETRY_DELAY_MS = 30_000;
+    private static final String EXPIRY = "expiry";
+    private static final String REMINDER = "reminder";
+
+    private final TimerScheduler scheduler;
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final SeatClaimStore seatClaimStore;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration horizon;
+    private final Duration reminderLead;
+    private final Duration catchUp;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 예약 id -> 등록된 타이머 (같은 예약을 여러 번 적재해도 한 번만 등록)
+    private final Map<Long, TimerEntry> expiryTimers = new ConcurrentHashMap<>();
+    private final Map<Long, TimerEntry> reminderTimers = new ConcurrentHashMap<>();
+    // 직전 적재 시각. 다음 적재는 여기서부터 읽어, 두 적재 사이에 생성되어 이미 끝난(시작 알림 시각이 지난) 예약도 놓치지 않음
+    private volatile LocalDateTime lastLoadedAt;
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationTimers.class);
+
+    public ReservationTimers(TimerScheduler scheduler,
+                             ReservationRepository reservationRepository,
+                             RoomRepository roomRepository,
+                             SeatClaimStore seatClaimStore,
+                             RedisTemplate<String, String> redisTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${sejali.timer.horizon-minutes:30}") long horizonMinutes,
+                             @Value("${sejali.timer.reminder-lead-minutes:10}") long reminderLeadMinutes,
+                             @Value("${sejali.timer.catch-up-minutes:1440}") long catchUpMinutes) {
+        this.scheduler = scheduler;
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.seatClaimStore = seatClaimStore;
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+        this.reminderLead = Duration.ofMinutes(reminderLeadMinutes);
+        this.catchUp = Duration.ofMinutes(catchUpMinutes);
+    }
+
+    // 적재 주기는 horizon 보다 충분히 짧아야 함
+    @Scheduled(fixedDelayString = "${sejali.timer.load-interval-ms:60000}")
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(horizon);
+        // 첫 적재 때는 서버가 내려가 있던 동안 끝난 예약도 포함.
+        // 이미 등록된 타이머는 computeIfAbsent 로, 이미 실행된 타이머는 Redis 키로 걸러짐
+        LocalDateTime from = lastLoadedAt != null ? lastLoadedAt : now.minus(catchUp);
+
+        for (ReservationSlot slot : reservationRepository.findSlotsEndingBetween(from, until)) {
+            expiryTimers.computeIfAbsent(slot.getId(),
+                    id -> scheduler.schedule(toEpochMilli(slot.getEndTime()), () -> expire(slot)));
+        }
+        // 알림은 지난 것을 몰아서 보내지 않도록 첫 적재 때 현재 시각부터
+        LocalDateTime reminderFrom = lastLoadedAt != null ? lastLoadedAt : now;
+        for (ReservationSlot slot : reservationRepository.findSlotsStartingBetween(reminderFrom.plus(reminderLead), until.plus(reminderLead))) {
+            reminderTimers.computeIfAbsent(slot.getId(),
+                    id -> scheduler.schedule(toEpochMilli(slot.getStartTime().minus(reminderLead)), () -> remind(slot)));
+        }
+        lastLoadedAt = now;
+    }
+
+    /**
+     * 예약 취소 커밋 이후 호출. 이 노드의 타이머를 취소하고 다른 노드의 타이머도 실행되지 않게 표시합니다.
+     * 반환값이 true 면 좌석을 아직 아무도 반환하지 않았으므로 호출한 쪽에서 반환해야 합니다.
+     */
+    public boolean cancel(Long reservationId, LocalDateTime endTime) {
+        cancelLocal(expiryTimers, reservationId);
+        cancelLocal(reminderTimers, reservationId);
+        try {
+            markFired(reservationId, REMINDER);
+            // catch-up 범위보다 오래전에 끝난 예약은 반환할 좌석이 없음
+            return markFired(reservationId, EXPIRY) && endTime.isAfter(LocalDateTime.now().minus(catchUp));
+        } catch (Exception e) {
+            // 표시하지 못했으면 만료 타이머가 대신 반환하도록 둠 (다른 노드에 적재되어 있을 수 있음)
+            logger.error("예약 타이머 취소 표시 실패: reservationId={}", reservationId, e);
+            return false;
+        }
+    }
+
+    private void expire(ReservationSlot slot) {
+        expiryTimers.remove(slot.getId());
+        if (!tryFire(slot, EXPIRY, () -> expire(slot))) {
+            return;
+        }
+        try {
+            Room room = roomRepository.findById(slot.getRoomId()).orElse(null);
+            if (room == null) {
+                return;
+            }
+            seatClaimStore.release(room, slot.getSeatNum(), slot.getStartTime(), slot.getEndTime());
+            eventPublisher.publishEvent(new SeatChangedEvent(room.getId(), slot.getSeatNum(),
+                    slot.getStartTime(), slot.getEndTime(), false));
+        } catch (Exception e) {
+            logger.error("예약 만료 좌석 반환 실패, 재시도 예정: reservationId={}", slot.getId(), e);
+            redisTemplate.delete(firedKey(slot.getId(), EXPIRY));
+            scheduler.schedule(System.currentTimeMillis() + RETRY_DELAY_MS, () -> expire(slot));
+        }
+    }
+
+    private void remind(ReservationSlot slot) {
+        reminderTimers.remove(slot.getId());
+        if (tryFire(slot, REMINDER, () -> remind(slot))) {
+            eventPublisher.publishEvent(new ReservationReminderEvent(slot.getId(), slot.getRoomId(),
+                    slot.getSeatNum(), slot.getStartTime()));
+        }
+    }
+
+    // 이 노드가 실행할 차례면 true. Redis 오류면 잠시 뒤 다시 시도
+    private boolean tryFire(ReservationSlot slot, String kind, Runnable retry) {
+        try {
+            return markFired(slot.getId(), kind);
+        } catch (Exception e) {
+            logger.warn("타이머 실행 표시 실패, 재시도 예정: reservationId={}, kind={}", slot.getId(), kind, e);
+            scheduler.schedule(System.currentTimeMillis() + RETRY_DELAY_MS, retry);
+            return false;
+        }
+    }
+
+    private boolean markFired(Long reservationId, String kind) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(firedKey(reservationId, kind), nodeId, FIRED_TTL));
+    }
+
+    private void cancelLocal(Map<Long, TimerEntry> timers, Long reservationId) {
+        TimerEntry entry = timers.remove(reservationId);
+        if (entry != null) {
+            scheduler.cancel(entry);
+        }
+    }
+
+    private static String firedKey(Long reservationId, String kind) {
+        return FIRED_PREFIX + reservationId + ":" + kind;
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
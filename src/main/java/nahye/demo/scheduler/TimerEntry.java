@@ -0,0 +1,42 @@
+package nahye.demo.scheduler;
+
+/**
+ * 타이밍 휠에 등록된 타이머 하나.
+ * 버킷의 이중 연결 리스트 노드이기도 해서 취소 시 O(1) 로 빠집니다.
+ * 링크 필드는 TimerScheduler 의 타이머 스레드만 건드립니다.
+ */
+public final class TimerEntry {
+    private final long expirationMs;
+    private final Runnable task;
+    private volatile boolean cancelled;
+
+    TimingWheel.Bucket bucket;
+    TimerEntry prev;
+    TimerEntry next;
+
+    TimerEntry(long expirationMs, Runnable task) {
+        this.expirationMs = expirationMs;
+        this.task = task;
+    }
+
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    Runnable getTask() {
+        return task;
+    }
+
+    // 실행 전이면 true. 버킷에서 빼는 작업은 타이머 스레드가 처리
+    boolean markCancelled() {
+        if (cancelled) {
+            return false;
+        }
+        cancelled = true;
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+package nahye.demo.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 타이밍 휠 구동기.
+ * 휠은 전용 스레드 하나만 만지고, 다른 스레드의 등록/취소 요청은 락 없는 큐로 넘겨 tick 마다 반영합니다.
+ * 만료된 작업은 DB/Redis 를 호출하므로 tick 스레드가 아니라 가상 스레드에서 실행합니다.
+ */
+@Component
+public class TimerScheduler {
+
+    private final TimingWheel wheel;
+    private final Queue<TimerEntry> added = new ConcurrentLinkedQueue<>();
+    private final Queue<TimerEntry> cancelled = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService runner = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile int pendingCount;
+
+    private static final Logger logger = LoggerFactory.getLogger(TimerScheduler.class);
+
+    public TimerScheduler(@Value("${sejali.timer.tick-ms:1000}") long tickMs,
+                          @Value("${sejali.timer.wheel-size:64}") int wheelSize) {
+        this.wheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "timing-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    public TimerEntry schedule(long expirationMs, Runnable task) {
+        TimerEntry entry = new TimerEntry(expirationMs, task);
+        added.add(entry);
+        return entry;
+    }
+
+    public void cancel(TimerEntry entry) {
+        if (entry.markCancelled()) {
+            cancelled.add(entry);
+        }
+    }
+
+    // 휠에 등록된 타이머 수 (마지막 tick 기준)
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    private void tick() {
+        try {
+            TimerEntry entry;
+            while ((entry = cancelled.poll()) != null) {
+                wheel.remove(entry);
+            }
+            while ((entry = added.poll()) != null) {
+                if (!wheel.add(entry)) {
+                    fire(entry);
+                }
+            }
+            wheel.advance(System.currentTimeMillis(), this::fire);
+            pendingCount = wheel.size();
+        } catch (Throwable e) {
+            // 예외가 밖으로 나가면 scheduleAtFixedRate 가 멈추므로 여기서 삼킴
+            logger.error("타이밍 휠 tick 처리 실패", e);
+        }
+    }
+
+    private void fire(TimerEntry entry) {
+        runner.execute(() -> {
+            try {
+                entry.getTask().run();
+            } catch (Exception e) {
+                logger.error("타이머 작업 실행 실패", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        runner.shutdown();
+    }
+}
@@ -0,0 +1,150 @@
+package nahye.demo.scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠.
+ * 0단계는 tickMs 간격 버킷 wheelSize 개이고, 범위를 넘는 타이머는 tickMs * wheelSize 간격의
+ * 상위 단계에 들어갔다가 시간이 다가오면 아래 단계로 내려옵니다(cascade).
+ * 등록/취소는 버킷 리스트에 붙이고 떼는 O(1) 이며, 상위 단계는 필요할 때 만듭니다.
+ * 스레드 안전하지 않으므로 TimerScheduler 의 타이머 스레드에서만 사용합니다.
+ */
+public class TimingWheel {
+
+    private final Level root;
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+
+    // 이미 만료 시각이 지났으면 false (호출한 쪽에서 바로 실행)
+    public boolean add(TimerEntry entry) {
+        if (entry.isCancelled()) {
+            return true;
+        }
+        if (!root.add(entry)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    public void remove(TimerEntry entry) {
+        if (entry.bucket != null) {
+            entry.bucket.unlink(entry);
+            size--;
+        }
+    }
+
+    // nowMs 까지 시계를 진행하며 만료된 타이머를 expired 로 넘김
+    public void advance(long nowMs, Consumer<TimerEntry> expired) {
+        while (root.currentTime + root.tickMs <= nowMs) {
+            long time = root.currentTime + root.tickMs;
+            // 모든 단계의 시계를 먼저 맞춘 뒤 상위 단계 버킷부터 비워 아래 단계로 다시 넣음
+            Level deepest = root;
+            for (Level level = root; level != null; level = level.overflow) {
+                if (time >= level.currentTime + level.tickMs) {
+                    level.currentTime = time - (time % level.tickMs);
+                    deepest = level;
+                } else {
+                    break;
+                }
+            }
+            for (Level level = deepest; level != null; level = level.lower) {
+                level.bucketAt(level.currentTime).drain(entry -> {
+                    size--;
+                    if (!entry.isCancelled() && !add(entry)) {
+                        expired.accept(entry);
+                    }
+                });
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static final class Level {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long intervalMs;
+        private final Bucket[] buckets;
+        private long currentTime;
+        private Level overflow;
+        private Level lower;
+
+        private Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.intervalMs = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        private boolean add(TimerEntry entry) {
+            long expiration = entry.getExpirationMs();
+            if (expiration < currentTime + tickMs) {
+                return false; // 0단계에서만 발생 (상위 단계로는 이 범위의 타이머가 올라오지 않음)
+            }
+            if (expiration < currentTime + intervalMs) {
+                bucketAt(expiration).append(entry);
+                return true;
+            }
+            return overflow().add(entry);
+        }
+
+        private Bucket bucketAt(long time) {
+            return buckets[(int) ((time / tickMs) % wheelSize)];
+        }
+
+        private Level overflow() {
+            if (overflow == null) {
+                overflow = new Level(intervalMs, wheelSize, currentTime);
+                overflow.lower = this;
+            }
+            return overflow;
+        }
+    }
+
+    // 같은 tick 구간에 만료되는 타이머들의 이중 연결 리스트 (센티널 노드 사용)
+    static final class Bucket {
+        private final TimerEntry head = new TimerEntry(-1, null);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void append(TimerEntry entry) {
+            TimerEntry tail = head.prev;
+            entry.prev = tail;
+            entry.next = head;
+            entry.bucket = this;
+            tail.next = entry;
+            head.prev = entry;
+        }
+
+        void unlink(TimerEntry entry) {
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        private void drain(Consumer<TimerEntry> consumer) {
+            TimerEntry entry = head.next;
+            while (entry != head) {
+                TimerEntry next = entry.next;
+                unlink(entry);
+                consumer.accept(entry);
+                entry = next;
+            }
+        }
+    }
+}
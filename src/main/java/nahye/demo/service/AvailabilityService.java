@@ -0,0 +1,88 @@
+package nahye.demo.service;
+
+import lombok.RequiredArgsConstructor;
+import nahye.demo.booking.SeatAvailabilityIndex;
+import nahye.demo.dto.room.AvailabilityResponse;
+import nahye.demo.dto.room.FreeSeatsResponse;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static nahye.demo.booking.SeatAvailabilityIndex.SLOTS_PER_DAY;
+import static nahye.demo.booking.SeatAvailabilityIndex.SLOT_MINUTES;
+import static nahye.demo.booking.SeatAvailabilityIndex.WORDS_PER_SEAT;
+
+// 좌석 x 슬롯 격자를 응답 형식(json / rle / binary)으로 변환
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+    private final SeatAvailabilityIndex availabilityIndex;
+
+    public AvailabilityResponse getGrid(Long roomId, LocalDate date, boolean runLength) {
+        long[] bits = availabilityIndex.snapshot(roomId, date);
+        int seats = bits.length / WORDS_PER_SEAT;
+
+        if (runLength) {
+            List<List<Integer>> runs = new ArrayList<>(seats);
+            for (int seat = 0; seat < seats; seat++) {
+                runs.add(runLengths(bits, seat));
+            }
+            return new AvailabilityResponse(roomId, date, SLOT_MINUTES, seats, "rle", null, runs);
+        }
+
+        List<String> rows = new ArrayList<>(seats);
+        for (int seat = 0; seat < seats; seat++) {
+            char[] row = new char[SLOTS_PER_DAY];
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                row[slot] = isBusy(bits, seat, slot) ? '1' : '0';
+            }
+            rows.add(new String(row));
+        }
+        return new AvailabilityResponse(roomId, date, SLOT_MINUTES, seats, "json", rows, null);
+    }
+
+    // 좌석마다 long WORDS_PER_SEAT 개(빅엔디언), 각 long 의 i 번째 비트가 슬롯 (w * 64 + i)
+    public byte[] getGridBinary(Long roomId, LocalDate date) {
+        long[] bits = availabilityIndex.snapshot(roomId, date);
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    // [from, to) 동안 비어 있는 좌석. 걸치는 슬롯도 포함해서 확인
+    public FreeSeatsResponse getFreeSeats(Long roomId, LocalDate date, LocalTime from, LocalTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("조회 시간이 올바르지 않습니다.");
+        }
+        int fromSlot = (from.getHour() * 60 + from.getMinute()) / SLOT_MINUTES;
+        int toSlot = (to.getHour() * 60 + to.getMinute() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        List<Integer> seats = availabilityIndex.freeSeats(roomId, date, fromSlot, toSlot);
+        return new FreeSeatsResponse(roomId, date, from, to, seats);
+    }
+
+    private static boolean isBusy(long[] bits, int seat, int slot) {
+        return (bits[seat * WORDS_PER_SEAT + (slot >>> 6)] & (1L << (slot & 63))) != 0;
+    }
+
+    private static List<Integer> runLengths(long[] bits, int seat) {
+        List<Integer> runs = new ArrayList<>();
+        boolean busy = false;
+        int length = 0;
+        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+            if (isBusy(bits, seat, slot) != busy) {
+                runs.add(length);
+                busy = !busy;
+                length = 0;
+            }
+            length++;
+        }
+        runs.add(length);
+        return runs;
+    }
+}
@@ -0,0 +1,242 @@
+package nahye.demo.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import nahye.demo.booking.ClaimResult;
+import nahye.demo.booking.SeatClaimStore;
+import nahye.demo.cache.UserCache;
+import nahye.demo.cache.UserSummary;
+import nahye.demo.config.ReservationMetrics;
+import nahye.demo.dto.reservation.BulkReservationRequest;
+import nahye.demo.dto.reservation.ReservationRequest;
+import nahye.demo.dto.reservation.ReservationResponse;
+import nahye.demo.entity.IdGeneration;
+import nahye.demo.entity.Reservation;
+import nahye.demo.entity.Room;
+import nahye.demo.entity.User;
+import nahye.demo.event.SeatChangedEvent;
+import nahye.demo.repository.ReservationRepository;
+import nahye.demo.repository.RoomRepository;
+import nahye.demo.repository.UserRepository;
+import nahye.demo.scheduler.ReservationTimers;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationService {
+    private static final int BULK_CHUNK_SIZE = IdGeneration.ALLOCATION_SIZE; // hibernate.jdbc.batch_size 단위로 flush
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final SeatClaimStore seatClaimStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ReservationTimers reservationTimers;
+    private final ReservationMetrics reservationMetrics;
+
+    @Transactional
+    public ReservationResponse reserve(ReservationRequest request, String userId) {
+        UserSummary user = userCache.find(userId)
+                .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
+
+        if (request.getRoomId() == null) {
+            throw new IllegalArgumentException("실습실을 선택해 주세요.");
+        }
+        Room room = roomRepository.findById(request.getRoomId())
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 실습실입니다."));
+
+        validate(request, room);
+
+        Long roomId = room.getId();
+        int seatNum = request.getSeatNum();
+        LocalDateTime start = request.getStartTime();
+        LocalDateTime end = request.getEndTime();
+
+        // 1. 좌석 충돌 검사 + 점유 + 남은 좌석 감소 (reservations 테이블 스캔 없음)
+        long claimStarted = System.nanoTime();
+        ClaimResult result = seatClaimStore.claim(room, seatNum, start, end);
+        reservationMetrics.recordClaim(ReservationMetrics.SINGLE, result, claimStarted);
+        if (result == ClaimResult.SEAT_TAKEN) {
+            throw new IllegalStateException("이미 예약된 좌석입니다.");
+        }
+        if (result == ClaimResult.ROOM_FULL) {
+            throw new IllegalStateException("남은 좌석이 없습니다.");
+        }
+        // 트랜잭션이 롤백되면 점유 해제
+        afterCompletion(committed -> {
+            if (!committed) {
+                seatClaimStore.abort(room, seatNum, start, end);
+                reservationMetrics.recordAborted();
+            }
+        });
+
+        // 2. DB 반영 (write-through)
+        Reservation saved = reservationRepository.save(Reservation.builder()
+                .seatNum(seatNum)
+                .startTime(start)
+                .endTime(end)
+                .duration(LocalTime.MIDNIGHT.plus(Duration.between(start, end)))
+                .room(room)
+                .user(userRepository.getReferenceById(user.id())) // 캐시의 id 로 FK 만 채움 (사용자 SELECT 없음)
+                .build());
+        eventPublisher.publishEvent(new SeatChangedEvent(roomId, seatNum, start, end, true));
+
+        return new ReservationResponse(
+                saved.getId(),
+                roomId,
+                room.getRoomName(),
+                seatNum,
+                start,
+                end
+        );
+    }
+
+    // 수업 단위 단체 예약: 학생들을 firstSeat 부터 연속 좌석에 배정 (전부 성공하거나 전부 실패)
+    @Transactional
+    public List<ReservationResponse> reserveBulk(BulkReservationRequest request) {
+        if (request.getRoomId() == null || request.getStudentNums() == null || request.getStudentNums().isEmpty()) {
+            throw new IllegalArgumentException("실습실과 학생 목록을 입력해 주세요.");
+        }
+        Room room = roomRepository.findById(request.getRoomId())
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 실습실입니다."));
+
+        List<Integer> studentNums = request.getStudentNums().stream().distinct().toList();
+        int firstSeat = request.getFirstSeat() == null ? 1 : request.getFirstSeat();
+        if (firstSeat < 1 || firstSeat + studentNums.size() - 1 > room.getSeats()) {
+            throw new IllegalArgumentException("배정할 좌석이 실습실 좌석 범위를 벗어납니다.");
+        }
+        LocalDateTime start = request.getStartTime();
+        LocalDateTime end = request.getEndTime();
+        validateTime(start, end);
+
+        // 학생 조회는 IN 쿼리 한 번
+        Map<Integer, User> users = userRepository.findAllByStudentNumIn(studentNums).stream()
+                .collect(Collectors.toMap(User::getStudentNum, Function.identity()));
+        List<Integer> missing = studentNums.stream().filter(studentNum -> !users.containsKey(studentNum)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 학번입니다: " + missing);
+        }
+
+        // 1. 좌석 전체를 한 번에 점유 (local: UPDATE 한 번, redis: 왕복 한 번)
+        List<Integer> seatNums = IntStream.range(firstSeat, firstSeat + studentNums.size()).boxed().toList();
+        long claimStarted = System.nanoTime();
+        ClaimResult result = seatClaimStore.claimAll(room, seatNums, start, end);
+        reservationMetrics.recordClaim(ReservationMetrics.BULK, result, claimStarted);
+        if (result == ClaimResult.SEAT_TAKEN) {
+            throw new IllegalStateException("이미 예약된 좌석이 포함되어 있습니다.");
+        }
+        if (result == ClaimResult.ROOM_FULL) {
+            throw new IllegalStateException("남은 좌석이 부족합니다.");
+        }
+        afterCompletion(committed -> {
+            if (!committed) {
+                seatNums.forEach(seatNum -> seatClaimStore.abort(room, seatNum, start, end));
+                reservationMetrics.recordAborted();
+            }
+        });
+
+        // 2. 청크마다 배치 INSERT 후 영속성 컨텍스트를 비워 메모리 사용을 일정하게 유지
+        Long roomId = room.getId();
+        String roomName = room.getRoomName();
+        LocalTime duration = LocalTime.MIDNIGHT.plus(Duration.between(start, end));
+        List<ReservationResponse> responses = new ArrayList<>(studentNums.size());
+        for (int from = 0; from < studentNums.size(); from += BULK_CHUNK_SIZE) {
+            int to = Math.min(from + BULK_CHUNK_SIZE, studentNums.size());
+            List<Reservation> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(Reservation.builder()
+                        .seatNum(seatNums.get(i))
+                        .startTime(start)
+                        .endTime(end)
+                        .duration(duration)
+                        .room(room)
+                        .user(users.get(studentNums.get(i)))
+                        .build());
+            }
+            reservationRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            chunk.forEach(saved -> responses.add(
+                    new ReservationResponse(saved.getId(), roomId, roomName, saved.getSeatNum(), start, end)));
+        }
+
+        seatNums.forEach(seatNum -> eventPublisher.publishEvent(new SeatChangedEvent(roomId, seatNum, start, end, true)));
+        return responses;
+    }
+
+    @Transactional
+    public void cancel(Long reservationId, String userId) {
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 예약입니다."));
+
+        if (!reservation.getUser().getUserId().equals(userId)) {
+            throw new IllegalArgumentException("본인의 예약만 취소할 수 있습니다.");
+        }
+
+        Room room = reservation.getRoom();
+        Hibernate.initialize(room); // 커밋 이후 콜백에서 좌석 수를 읽기 위해 미리 로딩
+        int seatNum = reservation.getSeatNum();
+        LocalDateTime start = reservation.getStartTime();
+        LocalDateTime end = reservation.getEndTime();
+
+        reservationRepository.delete(reservation);
+        eventPublisher.publishEvent(new SeatChangedEvent(room.getId(), seatNum, start, end, false));
+
+        // 커밋된 뒤에만 좌석 해제. 만료 타이머가 이미 반환했으면 다시 반환하지 않음
+        afterCompletion(committed -> {
+            if (committed && reservationTimers.cancel(reservationId, end)) {
+                seatClaimStore.release(room, seatNum, start, end);
+            }
+        });
+    }
+
+    public List<ReservationResponse> getMyReservations(String userId) {
+        return reservationRepository.findUpcomingByUserId(userId, LocalDateTime.now());
+    }
+
+    private void validate(ReservationRequest request, Room room) {
+        if (request.getSeatNum() < 1 || request.getSeatNum() > room.getSeats()) {
+            throw new IllegalArgumentException("존재하지 않는 좌석 번호입니다.");
+        }
+        validateTime(request.getStartTime(), request.getEndTime());
+    }
+
+    private void validateTime(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("예약 시간이 올바르지 않습니다.");
+        }
+        if (end.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("이미 지난 시간은 예약할 수 없습니다.");
+        }
+        if (!Duration.between(start, end).minusDays(1).isNegative()) {
+            throw new IllegalArgumentException("예약 시간은 24시간 미만이어야 합니다.");
+        }
+    }
+
+    private void afterCompletion(Consumer<Boolean> callback) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
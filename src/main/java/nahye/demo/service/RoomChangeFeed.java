@@ -0,0 +1,95 @@
+package nahye.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import nahye.demo.event.RoomChangeMessage;
+import nahye.demo.event.RoomChangedEvent;
+import nahye.demo.event.SeatChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * 노드 간 공용 변경 피드 (Redis pub/sub).
+ * 이 노드에서 커밋된 좌석/실습실 변경을 채널에 올리고, 채널에서 받은 메시지는
+ * 자기 노드 것이든 아니든 SeatStreamBroadcaster 로 넘겨 모든 노드가 같은 피드로 SSE 를 구동합니다.
+ * 다른 노드에서 온 변경은 remote=true 로 다시 발행해 스냅샷/인덱스도 맞춥니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomChangeFeed implements MessageListener {
+
+    private static final String CHANNEL = "sejali:room-changes";
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SeatStreamBroadcaster broadcaster;
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomChangeFeed.class);
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatChanged(SeatChangedEvent event) {
+        if (!event.isRemote()) {
+            publish(new RoomChangeMessage(nodeId, event.getRoomId(), event.getSeatNum(),
+                    event.getStartTime(), event.getEndTime(), event.isBooked()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (!event.isRemote()) {
+            publish(new RoomChangeMessage(nodeId, event.getRoomId(), null, null, null, false));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        RoomChangeMessage change;
+        try {
+            change = objectMapper.readValue(message.getBody(), RoomChangeMessage.class);
+        } catch (Exception e) {
+            logger.warn("변경 피드 메시지 해석 실패", e);
+            return;
+        }
+
+        if (!nodeId.equals(change.getNodeId())) {
+            if (change.getSeatNum() != null) {
+                eventPublisher.publishEvent(new SeatChangedEvent(change.getRoomId(), change.getSeatNum(),
+                        change.getStartTime(), change.getEndTime(), change.isBooked(), true));
+            } else {
+                eventPublisher.publishEvent(new RoomChangedEvent(change.getRoomId(), true));
+            }
+        }
+        broadcaster.enqueue(change);
+    }
+
+    private void publish(RoomChangeMessage change) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(change));
+        } catch (JsonProcessingException e) {
+            logger.warn("변경 피드 메시지 직렬화 실패", e);
+        } catch (Exception e) {
+            // Redis 장애가 예약 처리 자체를 실패시키지 않도록 로그만 남김
+            logger.error("변경 피드 발행 실패: roomId={}", change.getRoomId(), e);
+        }
+    }
+}
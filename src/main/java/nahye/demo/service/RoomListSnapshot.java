@@ -0,0 +1,105 @@
+package nahye.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nahye.demo.event.RoomChangedEvent;
+import nahye.demo.event.SeatChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * GET /room 응답 스냅샷.
+ * 실습실 목록을 JSON 바이트로 직렬화해 두고, 실습실 생성이나 좌석 변동(RoomChangedEvent)이 있을 때만
+ * 버전을 올려 다음 요청에서 다시 만듭니다. ETag 는 본문 해시라 노드가 달라도 같은 내용이면 같은 값입니다.
+ * 다른 노드의 변경은 변경 피드(RoomChangeFeed)로 들어오며, 피드가 끊긴 경우에도 max-age 가 지나면 반영됩니다.
+ */
+@Component
+public class RoomListSnapshot {
+
+    public record Snapshot(long version, byte[] body, String etag, long builtAt) {
+    }
+
+    private final RoomService roomService;
+    private final ObjectMapper objectMapper;
+    private final long maxAgeMillis;
+
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public RoomListSnapshot(RoomService roomService, ObjectMapper objectMapper,
+                            @Value("${sejali.room.snapshot-max-age-ms:1000}") long maxAgeMillis) {
+        this.roomService = roomService;
+        this.objectMapper = objectMapper;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        // 동시에 여러 요청이 와도 DB 조회/직렬화는 한 번만
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long buildingVersion = version.get();
+            byte[] body = objectMapper.writeValueAsBytes(roomService.getAllRooms());
+            current = new Snapshot(buildingVersion, body, etagOf(body), System.currentTimeMillis());
+            snapshot = current;
+            return current;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("실습실 목록 직렬화 실패", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // If-None-Match 값 중 현재 ETag 와 같은 것이 있으면 true
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    // 커밋된 변경만 반영. 트랜잭션 밖에서 발행된 이벤트도 받음
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatChanged(SeatChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null
+                && current.version() == version.get()
+                && System.currentTimeMillis() - current.builtAt() < maxAgeMillis;
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,41 +1,64 @@
 package nahye.demo.service;
 
 import lombok.RequiredArgsConstructor;
+import nahye.demo.booking.SeatAvailabilityIndex;
+import nahye.demo.booking.SeatClaimStore;
+import nahye.demo.cache.RoomCache;
+import nahye.demo.cache.RoomSummary;
+import nahye.demo.cache.UserCache;
+import nahye.demo.dto.room.RoomDetailResponse;
 import nahye.demo.dto.room.RoomGetResponse;
 import nahye.demo.dto.room.RoomRequest;
 import nahye.demo.dto.room.RoomResponse;
+import nahye.demo.entity.IdGeneration;
 import nahye.demo.entity.Room;
-import nahye.demo.entity.User;
+import nahye.demo.event.RoomChangedEvent;
 import nahye.demo.repository.RoomRepository;
-import nahye.demo.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class RoomService {
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final RoomCache roomCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final SeatClaimStore seatClaimStore;
+
+    private static final int BULK_CHUNK_SIZE = IdGeneration.ALLOCATION_SIZE;
 
     public List<RoomGetResponse> getAllRooms() {
-        List<Room> rooms = roomRepository.findAll();
-
-        return rooms.stream()
-                .map(room -> new RoomGetResponse(
-                        room.getRoomName(),
-                        room.getSeats(),
-                        room.getRemainingSeats(),
-                        room.getRoomImg()
-                ))
-                .collect(Collectors.toList());
+        return roomRepository.findAllSummaries();
+    }
+
+    public RoomDetailResponse getRoomDetail(Long roomId) {
+        LocalDateTime now = LocalDateTime.now();
+        RoomSummary summary = roomCache.find(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 실습실입니다."));
+        // 남은 좌석 수는 캐시하지 않고 좌석 저장소의 현재 값 (redis: MGET, local: PK 조회 한 번)
+        Integer remainingSeats = seatClaimStore.remainingSeats(List.of(roomId)).get(roomId);
+        if (remainingSeats == null) {
+            throw new IllegalArgumentException("존재하지 않는 실습실입니다.");
+        }
+        // 캐시된 값은 공유되므로 매번 새 응답 객체로 만들어 nextFreeSlot 을 채움
+        RoomDetailResponse detail = summary.toDetail(remainingSeats);
+        detail.setNextFreeSlot(availabilityIndex.nextFreeSlot(roomId, now));
+        return detail;
     }
 
     public RoomResponse createRoom(RoomRequest request, String userId) {
 
-        userRepository.findByUserId(userId)
+        userCache.find(userId)
                 .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
 
         Room isExisting = roomRepository.findByRoomName(request.getRoomName());
@@ -44,14 +67,52 @@ public class RoomService {
             throw new IllegalArgumentException("이미 존재하는 실습실입니다.");
         }
 
-        Room room = Room.builder()
+        Room newRoom = roomRepository.save(toRoom(request));
+        eventPublisher.publishEvent(new RoomChangedEvent(newRoom.getId()));
+        return new RoomResponse(newRoom);
+    }
+
+    // 여러 실습실 한 번에 생성. 이름 중복은 IN 쿼리 한 번으로 확인하고,
+    // 한 트랜잭션 안에서 청크마다 flush 해 배치 INSERT (하나라도 실패하면 전부 롤백).
+    // 이벤트는 트랜잭션 안에서 발행하므로 커밋된 경우에만 캐시/스냅샷/SSE 에 반영됨
+    public List<RoomResponse> createRooms(List<RoomRequest> requests, String userId) {
+
+        userCache.find(userId)
+                .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
+
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("생성할 실습실을 입력해 주세요.");
+        }
+        Set<String> names = new HashSet<>();
+        for (RoomRequest request : requests) {
+            if (!names.add(request.getRoomName())) {
+                throw new IllegalArgumentException("요청에 중복된 실습실 이름이 있습니다: " + request.getRoomName());
+            }
+        }
+        List<String> existing = roomRepository.findAllByRoomNameIn(names).stream()
+                .map(Room::getRoomName)
+                .toList();
+        if (!existing.isEmpty()) {
+            throw new IllegalArgumentException("이미 존재하는 실습실입니다: " + existing);
+        }
+
+        List<Room> rooms = requests.stream().map(this::toRoom).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rooms.size(); from += BULK_CHUNK_SIZE) {
+                roomRepository.saveAll(rooms.subList(from, Math.min(from + BULK_CHUNK_SIZE, rooms.size())));
+                roomRepository.flush();
+            }
+            rooms.forEach(room -> eventPublisher.publishEvent(new RoomChangedEvent(room.getId())));
+        });
+        return rooms.stream().map(RoomResponse::new).toList();
+    }
+
+    private Room toRoom(RoomRequest request) {
+        return Room.builder()
                 .roomName(request.getRoomName())
                 .seats(request.getSeats())
                 .remainingSeats(request.getSeats())
                 .roomImg(request.getRoomImg())
                 .build();
-
-        Room newRoom = roomRepository.save(room);
-        return new RoomResponse(newRoom);
     }
 }
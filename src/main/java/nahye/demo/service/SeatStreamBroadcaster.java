@@ -0,0 +1,245 @@
+package nahye.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import nahye.demo.booking.SeatClaimStore;
+import nahye.demo.dto.room.SeatChange;
+import nahye.demo.dto.room.SeatChangeFrame;
+import nahye.demo.event.RoomChangeMessage;
+import nahye.demo.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 좌석 변경 SSE 구독자 관리와 전송.
+ * 변경은 실습실별로 모아 두었다가 주기마다 프레임 하나로 합쳐(coalescing) 보내고,
+ * 프레임은 한 번만 직렬화해서 구독자 수만큼 전송합니다. 실습실 구독자는 그 실습실 프레임 하나,
+ * 전체 구독자는 그 주기에 바뀐 실습실 프레임을 모은 배열 하나를 받으므로 구독자마다 주기당 전송은 최대 한 번입니다.
+ * 구독자마다 전송 중인 프레임은 최대 하나입니다. 전송 중이라 건너뛴 프레임이 있으면 전송이 끝난 뒤
+ * 현재 남은 좌석 수 스냅샷("snapshot" 이벤트)을 다시 보내 맞추고, 그래도 계속 밀리는 느린 구독자는 연결을 끊습니다.
+ * 구독 직후에도 스냅샷을 먼저 보내므로, 재연결한 클라이언트는 끊겨 있던 동안의 변경을 따로 받을 필요가 없습니다.
+ * 남은 좌석 수는 SeatClaimStore 가 기준으로 쓰는 값 (claim-store=redis 이면 쓰기 지연되는 DB 컬럼 대신 Redis 카운터)
+ */
+@Component
+public class SeatStreamBroadcaster {
+
+    private static final long EMITTER_TIMEOUT = 30L * 60 * 1000; // 30분 후 클라이언트 재연결
+    private static final long RECONNECT_TIME = 3000L;
+    private static final Long ALL_ROOMS = -1L;
+
+    private final RoomRepository roomRepository;
+    private final SeatClaimStore seatClaimStore;
+    private final ObjectMapper objectMapper;
+    private final int maxMissedFrames;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, List<SeatChange>> pending = new ConcurrentHashMap<>();
+    // 전송은 블로킹 소켓 쓰기이므로 가상 스레드에서 실행 (요청/스케줄러 스레드를 잡지 않음)
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatStreamBroadcaster.class);
+
+    public SeatStreamBroadcaster(RoomRepository roomRepository, SeatClaimStore seatClaimStore, ObjectMapper objectMapper,
+                                 @Value("${sejali.room.stream-max-missed-frames:3}") int maxMissedFrames) {
+        this.roomRepository = roomRepository;
+        this.seatClaimStore = seatClaimStore;
+        this.objectMapper = objectMapper;
+        this.maxMissedFrames = maxMissedFrames;
+    }
+
+    public SseEmitter subscribe(Long roomId) {
+        return subscribe(roomId, new SseEmitter(EMITTER_TIMEOUT));
+    }
+
+    // 테스트에서 전송을 기록하는 emitter 를 넘길 수 있도록 분리
+    SseEmitter subscribe(Long roomId, SseEmitter emitter) {
+        Long key = roomId == null ? ALL_ROOMS : roomId;
+        Subscriber subscriber = new Subscriber(key, emitter);
+
+        // 스냅샷을 보내는 동안 들어온 프레임은 건너뛰고(stale) 끝난 뒤 스냅샷을 다시 보냄
+        subscriber.sending.set(true);
+        Set<Subscriber> set = subscribers.computeIfAbsent(key, id -> ConcurrentHashMap.newKeySet());
+        set.add(subscriber);
+        Runnable remove = () -> set.remove(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // 응답이 시작되기 전의 send 는 SseEmitter 가 버퍼에 담아 두므로 요청 스레드가 막히지 않음
+        try {
+            sendSnapshot(subscriber);
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        finishSend(subscriber);
+        return emitter;
+    }
+
+    // compute/remove 는 키 단위로 원자적이므로 flush 와 겹쳐도 변경이 유실되지 않음
+    public void enqueue(RoomChangeMessage change) {
+        pending.compute(change.getRoomId(), (roomId, changes) -> {
+            List<SeatChange> list = changes == null ? new ArrayList<>() : changes;
+            // seatNum 이 없으면 실습실 단위 변경: 남은 좌석 수만 다시 보냄
+            if (change.getSeatNum() != null) {
+                list.add(new SeatChange(change.getSeatNum(), change.getStartTime(), change.getEndTime(), change.isBooked()));
+            }
+            return list;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${sejali.room.stream-interval-ms:500}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, List<SeatChange>> batch = new HashMap<>();
+        for (Long roomId : new ArrayList<>(pending.keySet())) {
+            List<SeatChange> changes = pending.remove(roomId);
+            if (changes != null) {
+                batch.put(roomId, changes);
+            }
+        }
+        if (subscribers.values().stream().allMatch(Set::isEmpty)) {
+            return;
+        }
+
+        Map<Long, Integer> remaining = seatClaimStore.remainingSeats(batch.keySet());
+
+        List<SeatChangeFrame> frames = new ArrayList<>(batch.size());
+        batch.forEach((roomId, changes) -> {
+            SeatChangeFrame frame = new SeatChangeFrame(roomId, remaining.get(roomId), changes);
+            frames.add(frame);
+            Set<Subscriber> roomSubscribers = subscribers.getOrDefault(roomId, Set.of());
+            if (!roomSubscribers.isEmpty()) {
+                String json = serialize(frame);
+                if (json != null) {
+                    roomSubscribers.forEach(subscriber -> send(subscriber, json));
+                }
+            }
+        });
+
+        // 실습실마다 따로 보내면 두 번째 프레임부터는 앞 프레임이 전송 중이라 건너뛴 것으로 세어
+        // 빠른 연결도 끊기므로, 전체 구독자에게는 한 주기의 변경을 배열 하나로 보냄
+        Set<Subscriber> allRooms = subscribers.getOrDefault(ALL_ROOMS, Set.of());
+        if (!allRooms.isEmpty()) {
+            String json = serialize(frames);
+            if (json != null) {
+                allRooms.forEach(subscriber -> send(subscriber, json));
+            }
+        }
+    }
+
+    // 프록시 등이 끊긴 연결을 정리할 수 있도록 주기적으로 주석 이벤트 전송
+    @Scheduled(fixedDelayString = "${sejali.room.stream-heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> send(subscriber, null)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    private void send(Subscriber subscriber, String frame) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            // 이전 프레임을 아직 못 보냄 -> 건너뛴 변경은 전송이 끝난 뒤 스냅샷으로 맞춤 (ping 은 그냥 건너뜀)
+            if (frame != null) {
+                subscriber.stale = true;
+                if (subscriber.missed.incrementAndGet() > maxMissedFrames) {
+                    subscriber.emitter.complete();
+                }
+            }
+            return;
+        }
+        sender.execute(() -> {
+            try {
+                if (frame == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name("seats").data(frame, MediaType.APPLICATION_JSON));
+                    subscriber.missed.set(0);
+                }
+            } catch (Exception e) {
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+            finishSend(subscriber);
+        });
+    }
+
+    // 전송 종료. 그사이 건너뛴 프레임이 있으면 스냅샷을 보낸 뒤 다시 확인
+    private void finishSend(Subscriber subscriber) {
+        while (true) {
+            subscriber.sending.set(false);
+            if (!subscriber.stale || !subscriber.sending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendSnapshot(subscriber);
+            } catch (Exception e) {
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    // 구독 범위(실습실 하나 또는 전체)의 현재 남은 좌석 수. sending 을 잡은 스레드에서만 호출
+    private void sendSnapshot(Subscriber subscriber) throws Exception {
+        subscriber.stale = false;
+        List<Long> roomIds = ALL_ROOMS.equals(subscriber.roomKey) ? roomRepository.findAllIds() : List.of(subscriber.roomKey);
+        Map<Long, Integer> remaining = seatClaimStore.remainingSeats(roomIds);
+        List<SeatChangeFrame> frames = new ArrayList<>(roomIds.size());
+        for (Long roomId : roomIds) {
+            if (remaining.containsKey(roomId)) {
+                frames.add(new SeatChangeFrame(roomId, remaining.get(roomId), List.of()));
+            }
+        }
+        subscriber.emitter.send(SseEmitter.event()
+                .name("snapshot")
+                .reconnectTime(RECONNECT_TIME)
+                .data(objectMapper.writeValueAsString(frames), MediaType.APPLICATION_JSON));
+        subscriber.missed.set(0);
+    }
+
+    private String serialize(Object frame) {
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            logger.warn("좌석 변경 프레임 직렬화 실패", e);
+            return null;
+        }
+    }
+
+    private static final class Subscriber {
+        private final Long roomKey;
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicInteger missed = new AtomicInteger();
+        // 전송 중이라 건너뛴 프레임이 있음 -> 다음 전송 종료 시 스냅샷
+        private volatile boolean stale;
+
+        private Subscriber(Long roomKey, SseEmitter emitter) {
+            this.roomKey = roomKey;
+            this.emitter = emitter;
+        }
+    }
+}
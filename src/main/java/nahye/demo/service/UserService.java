@@ -2,14 +2,19 @@ package nahye.demo.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import nahye.demo.cache.UserCache;
+import nahye.demo.config.AuthMetrics;
 import nahye.demo.config.JwtTokenProvider;
+import nahye.demo.config.RefreshTokenRotation;
+import nahye.demo.config.RefreshTokenStore;
+import nahye.demo.config.VerifiedToken;
 import nahye.demo.dto.room.RoomResponse;
 import nahye.demo.dto.user.*;
-import nahye.demo.entity.RefreshToken;
 import nahye.demo.entity.User;
 import nahye.demo.enums.AuthLevel;
-import nahye.demo.repository.RefreshTokenRepository;
 import nahye.demo.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,21 +23,28 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserCache userCache;
+    private final AuthMetrics authMetrics;
 
     public UserResponse signup(SignRequest request) {
         if (userRepository.findByUserId(request.getUserId()).isPresent()) {
@@ -57,66 +69,78 @@ public class UserService {
         );
     }
 
-    @Transactional
     public TokenResponse login(LoginRequest request){
-        if (userRepository.findByUserId(request.getUserId()).isEmpty()) {
-            throw new IllegalArgumentException("사용자가 없습니다.");
-        }
-
-        if (isUserLoggedIn(request.getUserId())) {
-            throw new IllegalStateException("이미 로그인된 사용자입니다.");
-        }
-
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUserId(), request.getPassword())
-        );
-
-
-        String accessToken = jwtTokenProvider.createAccessToken(authentication.getName());
-        String refreshToken = jwtTokenProvider.createRefreshToken(authentication.getName());
-
-        refreshTokenRepository.deleteByUserId(request.getUserId());
-        refreshTokenRepository.save(RefreshToken.builder()
-                .token(refreshToken)
-                .userId(request.getUserId())
-                .expiryDate(LocalDateTime.now().plusDays(7))
-                .build());
-
-        return new TokenResponse(accessToken, refreshToken);
+        return authMetrics.time(AuthMetrics.LOGIN, () -> {
+            // 없는 사용자를 BCrypt 전에 거르는 용도. 캐시 값은 무효화와 겹치면 이전 값일 수 있으므로 토큰에는 쓰지 않음
+            authMetrics.stage(AuthMetrics.LOGIN, AuthMetrics.USER_LOOKUP,
+                            () -> userCache.find(request.getUserId()))
+                    .orElseThrow(() -> new IllegalArgumentException("사용자가 없습니다."));
+
+            if (isUserLoggedIn(request.getUserId())) {
+                throw new IllegalStateException("이미 로그인된 사용자입니다.");
+            }
+
+            Authentication authentication = authMetrics.stage(AuthMetrics.LOGIN, AuthMetrics.AUTHENTICATE,
+                    () -> authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(request.getUserId(), request.getPassword())));
+
+
+            // 권한은 방금 인증에 쓴 DB 행에서 (CustomUserDetailsService 가 authLevel 을 권한으로 담음)
+            AuthLevel authLevel = AuthLevel.valueOf(authentication.getAuthorities().iterator().next().getAuthority());
+            String accessToken = authMetrics.stage(AuthMetrics.LOGIN, AuthMetrics.SIGN,
+                    () -> jwtTokenProvider.createAccessToken(authentication.getName(), authLevel));
+            // RT 저장은 Redis 한 번 (MySQL 감사 기록은 비동기)
+            String refreshToken = authMetrics.tokenStore(AuthMetrics.LOGIN,
+                    () -> refreshTokenStore.issue(authentication.getName()));
+
+            return new TokenResponse(accessToken, refreshToken);
+        });
     }
 
     public TokenResponse getRefresh(RefreshRequest request){
-        RefreshToken token =refreshTokenRepository.findByToken(request.getRefreshToken())
-                .orElseThrow(()-> new RuntimeException("유효하지 않은 리프레시 토큰입니다."));
-
-        if(token.getExpiryDate().isBefore(LocalDateTime.now())){
-            refreshTokenRepository.delete(token);
-            throw new RuntimeException("리프레시 토큰이 만료되었습니다.");
-        }
-
-        String newAccessToken = jwtTokenProvider.createAccessToken(token.getUserId());
-        //AT, RT 반환
-        return new TokenResponse(newAccessToken, token.getToken());
+        return authMetrics.time(AuthMetrics.REFRESH, () -> {
+            // RT 검증 + 새 RT 로 교체 (이미 교체된 RT 가 다시 오면 세션 폐기)
+            RefreshTokenRotation rotation = authMetrics.tokenStore(AuthMetrics.REFRESH,
+                    () -> refreshTokenStore.rotate(request.getRefreshToken()));
+
+            // 권한은 로그인과 같이 DB 행에서 (캐시 값은 무효화와 겹치면 이전 권한일 수 있음)
+            User user = authMetrics.stage(AuthMetrics.REFRESH, AuthMetrics.USER_LOOKUP,
+                            () -> userRepository.findByUserId(rotation.getUserId()))
+                    .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
+            String newAccessToken = authMetrics.stage(AuthMetrics.REFRESH, AuthMetrics.SIGN,
+                    () -> jwtTokenProvider.createAccessToken(user.getUserId(), user.getAuthLevel()));
+            //AT, RT 반환
+            return new TokenResponse(newAccessToken, rotation.getRefreshToken());
+        });
     }
 
     public void logout(String accessToken, String refreshToken){
-
+        VerifiedToken verified;
+        long accessTtl;
         try {
-            jwtTokenProvider.invalidateToken(accessToken);
+            // 인증 필터가 방금 검증한 토큰이므로 대부분 검증 캐시에서 바로 꺼냄
+            verified = jwtTokenProvider.parseAndVerify(accessToken);
+            accessTtl = jwtTokenProvider.remainingValidity(verified);
         } catch (Exception e) {
             throw new IllegalArgumentException("Access Token 무효화 중 오류 발생: " + e.getMessage());
         }
 
-        // 3. Refresh Token을 저장소에서 삭제
-        // 사용자 ID 또는 기타 고유 식별자를 키로 사용하여 Refresh Token을 관리한다고 가정합니다.
-        // 실제 구현에서는 userId 등을 이용하여 해당 사용자의 Refresh Token을 정확히 찾아 삭제해야 합니다.
-        boolean deleted = jwtTokenProvider.deleteRefreshToken(refreshToken);
+        // Access Token 블랙리스트 등록 + Refresh Token 삭제를 저장소 호출 한 번으로 (redis: 스크립트 한 번)
+        boolean deleted = refreshTokenStore.logout(verified, accessTtl, refreshToken);
         if (!deleted) {
             // Refresh Token이 존재하지 않거나 이미 삭제된 경우
             throw new IllegalArgumentException("유효하지 않거나 이미 만료/삭제된 Refresh Token입니다.");
         }
     }
 
+    // 관리자: 사용자의 모든 기기 로그아웃 (이미 발급된 액세스/리프레시 토큰 모두 무효)
+    public void revokeAllSessions(String userId) {
+        if (!userRepository.existsByUserId(userId)) {
+            throw new IllegalArgumentException("존재하지 않는 사용자입니다.");
+        }
+        refreshTokenStore.revokeAll(userId);
+    }
+
     private boolean isUserLoggedIn(String userId) {
         // Security Context 확인 => 사용자가 이미 로그인 되어있는지 확인
          Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -154,10 +178,26 @@ public class UserService {
         // 4. 유저 정보 수정
         existingUser.setStudentNum(request.getStudentNum());
         existingUser.setUsername(request.getUsername());
-        existingUser.setPassword(passwordEncoder.encode(request.getPassword()));
+        // 비밀번호가 바뀐 경우에만 다시 해시
+        boolean passwordChanged = !passwordEncoder.matches(request.getPassword(), existingUser.getPassword());
+        if (passwordChanged) {
+            existingUser.setPassword(passwordEncoder.encode(request.getPassword()));
+        }
 
         // 5. 저장 및 응답 반환
-        User updatedUser = userRepository.save(existingUser);
+        User updatedUser = userRepository.saveAndFlush(existingUser);
+        if (passwordChanged) {
+            // 이미 발급된 액세스/리프레시 토큰 모두 무효 (not-before 갱신은 pub/sub 으로 모든 노드에 전달)
+            // 저장이 실패하면 여기까지 오지 않음. jpa 저장소의 리프레시 토큰 삭제는 이 트랜잭션에 포함
+            refreshTokenStore.revokeAll(userId);
+        }
+        // 커밋 이후 사용자 캐시 무효화 (커밋 전에 지우면 이전 값이 다시 캐시될 수 있음)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userCache.invalidate(userId);
+            }
+        });
         return new UserProfileResponse(
                 updatedUser.getStudentNum(),
                 updatedUser.getUsername(),
@@ -170,14 +210,42 @@ public class UserService {
         return str == null || str.trim().isEmpty();
     }
 
-    public List<AdminUserResponse> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(room -> new AdminUserResponse(
-                        room.getStudentNum(),
-                        room.getUsername(),
-                        room.getUserId()
-                ))
-                .collect(Collectors.toList());
+    // sort: id(기본) 또는 studentNum. cursor 는 이전 페이지의 nextCursor
+    public AdminUserPageResponse getUsersPage(Long cursor, int size, String sort) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        boolean byStudentNum = "studentNum".equals(sort);
+
+        List<AdminUserResponse> users = fetchPage(cursor, pageSize, byStudentNum);
+
+        Long nextCursor = null;
+        if (users.size() == pageSize) {
+            AdminUserResponse last = users.get(users.size() - 1);
+            nextCursor = byStudentNum ? (long) last.getStudentNum() : last.getId();
+        }
+        return new AdminUserPageResponse(users, nextCursor);
+    }
+
+    // 전체 사용자를 페이지 단위로 넘김 (NDJSON 내보내기용). 메모리에는 한 페이지만 유지
+    public void forEachUserPage(int pageSize, Consumer<List<AdminUserResponse>> consumer) {
+        long cursor = 0;
+        while (true) {
+            List<AdminUserResponse> users = fetchPage(cursor, pageSize, false);
+            if (users.isEmpty()) {
+                return;
+            }
+            consumer.accept(users);
+            if (users.size() < pageSize) {
+                return;
+            }
+            cursor = users.get(users.size() - 1).getId();
+        }
+    }
+
+    private List<AdminUserResponse> fetchPage(Long cursor, int pageSize, boolean byStudentNum) {
+        Pageable limit = PageRequest.of(0, pageSize);
+        if (byStudentNum) {
+            return userRepository.findPageAfterStudentNum(cursor == null ? -1 : cursor.intValue(), limit);
+        }
+        return userRepository.findPageAfterId(cursor == null ? 0 : cursor, limit);
     }
 }
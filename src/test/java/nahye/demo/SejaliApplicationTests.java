@@ -1,11 +1,33 @@
 package nahye.demo;
 
+import nahye.demo.support.InMemoryRedis;
+import nahye.demo.support.Resp2RedisConfig;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
+// test 프로필(H2) + 프로세스 내 Redis 로 전체 컨텍스트 기동
 @SpringBootTest
+@ActiveProfiles("test")
+@Import(Resp2RedisConfig.class)
 class SejaliApplicationTests {
 
+	private static final InMemoryRedis redis = new InMemoryRedis();
+
+	@DynamicPropertySource
+	static void redisProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.data.redis.port", redis::port);
+	}
+
+	@AfterAll
+	static void stopRedis() {
+		redis.close();
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,106 @@
+package nahye.demo.booking;
+
+import nahye.demo.config.ReservationMetrics;
+import nahye.demo.entity.Room;
+import nahye.demo.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 충돌하면 정해진 횟수까지 재시도, 좌석이 모자라면 false, 먼저 커밋한 감소는 예약 트랜잭션이 롤백되면 되돌림
+class OptimisticSeatCounterTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ReservationMetrics reservationMetrics = mock(ReservationMetrics.class);
+    private OptimisticSeatCounter counter;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        room = Room.builder().id(ROOM_ID).roomName("A").seats(10).remainingSeats(3).roomImg("img").build();
+        when(roomRepository.findById(ROOM_ID)).thenReturn(Optional.of(room));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        counter = new OptimisticSeatCounter(roomRepository, transactionManager, reservationMetrics, 3, 0);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void decrementsWhenEnoughSeatsRemain() {
+        assertThat(counter.tryDecrement(ROOM_ID, 2)).isTrue();
+        assertThat(room.getRemainingSeats()).isEqualTo(1);
+
+        assertThat(counter.tryDecrement(ROOM_ID, 2)).isFalse();
+        assertThat(room.getRemainingSeats()).isEqualTo(1);
+    }
+
+    @Test
+    void conflictIsRetried() {
+        doThrow(new ObjectOptimisticLockingFailureException(Room.class, ROOM_ID))
+                .doNothing()
+                .when(transactionManager).commit(any());
+
+        assertThat(counter.tryDecrement(ROOM_ID, 1)).isTrue();
+        verify(reservationMetrics).recordCounterConflict(OptimisticSeatCounter.NAME, true);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        doThrow(new ObjectOptimisticLockingFailureException(Room.class, ROOM_ID)).when(transactionManager).commit(any());
+
+        assertThatThrownBy(() -> counter.tryDecrement(ROOM_ID, 1)).isInstanceOf(IllegalStateException.class);
+        verify(reservationMetrics).recordCounterConflict(OptimisticSeatCounter.NAME, false);
+    }
+
+    @Test
+    void committedDecrementIsRestoredWhenReservationRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(counter.tryDecrement(ROOM_ID, 2)).isTrue();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(roomRepository).incrementRemainingSeatsBy(ROOM_ID, 2);
+    }
+
+    @Test
+    void committedReservationKeepsTheDecrement() {
+        TransactionSynchronizationManager.initSynchronization();
+        doNothing().when(transactionManager).commit(any());
+
+        assertThat(counter.tryDecrement(ROOM_ID, 1)).isTrue();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(roomRepository, never()).incrementRemainingSeatsBy(anyLong(), anyInt());
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+    }
+}
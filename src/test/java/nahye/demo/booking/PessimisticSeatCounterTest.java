@@ -0,0 +1,56 @@
+package nahye.demo.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import nahye.demo.entity.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 잠그면서 다시 읽은 최신 값으로 판단 (예약 트랜잭션이 먼저 읽어 둔 값이 아니라)
+class PessimisticSeatCounterTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final PessimisticSeatCounter counter = new PessimisticSeatCounter(entityManager);
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        room = Room.builder().id(ROOM_ID).roomName("A").seats(10).remainingSeats(5).roomImg("img").build();
+        when(entityManager.find(Room.class, ROOM_ID)).thenReturn(room);
+    }
+
+    @Test
+    void decrementsAfterLockingRefresh() {
+        assertThat(counter.tryDecrement(ROOM_ID, 2)).isTrue();
+
+        assertThat(room.getRemainingSeats()).isEqualTo(3);
+        verify(entityManager).refresh(room, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    @Test
+    void decisionUsesTheValueReadUnderTheLock() {
+        // 먼저 읽어 둔 값은 5석이지만 잠그고 다시 읽으니 다른 예약이 커밋되어 1석
+        doAnswer(invocation -> {
+            room.setRemainingSeats(1);
+            return null;
+        }).when(entityManager).refresh(eq(room), any(LockModeType.class));
+
+        assertThat(counter.tryDecrement(ROOM_ID, 2)).isFalse();
+        assertThat(room.getRemainingSeats()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownRoomIsNotDecremented() {
+        assertThat(counter.tryDecrement(2L, 1)).isFalse();
+    }
+}
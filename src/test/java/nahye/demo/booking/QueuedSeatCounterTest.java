@@ -0,0 +1,155 @@
+package nahye.demo.booking;
+
+import nahye.demo.config.ReservationMetrics;
+import nahye.demo.dto.room.RoomSeatCount;
+import nahye.demo.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 동시 요청에도 남은 좌석만큼만 배정, 쓰기 스레드가 늦으면 기다림에 상한, 포기하거나 롤백된 감소는 되돌림
+class QueuedSeatCounterTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final long WAIT_MS = 200;
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ReservationMetrics reservationMetrics = mock(ReservationMetrics.class);
+    private final AtomicInteger remaining = new AtomicInteger();
+    private QueuedSeatCounter counter;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (counter != null) {
+            counter.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedRemainingSeats() throws Exception {
+        counter = counterWithSeats(40, WAIT_MS * 10);
+
+        int requests = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return counter.tryDecrement(ROOM_ID, 1);
+            }));
+        }
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                granted++;
+            }
+        }
+        pool.shutdown();
+        assertThat(granted).isEqualTo(40);
+        assertThat(remaining.get()).isZero();
+    }
+
+    @Test
+    void slowWriterDoesNotHoldTheCallerForever() throws Exception {
+        counter = counterWithSeats(10, WAIT_MS);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 쓰기 스레드가 UPDATE 에서 멈춤 (예: 풀이 모자라 커넥션을 기다림)
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            remaining.addAndGet(-(int) invocation.getArgument(1));
+            return 1;
+        }).when(roomRepository).decrementRemainingSeatsBy(eq(ROOM_ID), anyInt());
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<Boolean> taken = pool.submit(() -> counter.tryDecrement(ROOM_ID, 1));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Boolean> queued = pool.submit(() -> counter.tryDecrement(ROOM_ID, 1));
+
+        // 아직 큐에 있던 요청은 빠지고 409, 쓰기 스레드가 가져간 요청은 한 번 더 기다린 뒤 503
+        assertThatThrownBy(queued::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(taken::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+
+        // 포기한 뒤에 커밋된 감소는 되돌림
+        release.countDown();
+        verify(roomRepository, timeout(5_000)).incrementRemainingSeatsBy(ROOM_ID, 1);
+        pool.shutdown();
+    }
+
+    @Test
+    void decrementIsRestoredWhenReservationRollsBack() {
+        counter = counterWithSeats(10, WAIT_MS * 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(counter.tryDecrement(ROOM_ID, 3)).isTrue();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(roomRepository).incrementRemainingSeatsBy(ROOM_ID, 3);
+    }
+
+    @Test
+    void committedReservationKeepsTheDecrement() {
+        counter = counterWithSeats(10, WAIT_MS * 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(counter.tryDecrement(ROOM_ID, 3)).isTrue();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(remaining.get()).isEqualTo(7);
+        verify(roomRepository, never()).incrementRemainingSeatsBy(anyLong(), anyInt());
+    }
+
+    // 남은 좌석을 메모리 값으로 흉내 내는 저장소 (조회 + 조건부 감소)
+    private QueuedSeatCounter counterWithSeats(int seats, long waitMillis) {
+        remaining.set(seats);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(roomRepository.findSeatCounts(List.of(ROOM_ID)))
+                .thenAnswer(invocation -> List.of(new RoomSeatCount(ROOM_ID, remaining.get())));
+        when(roomRepository.decrementRemainingSeatsBy(eq(ROOM_ID), anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(1);
+            return remaining.getAndUpdate(current -> current >= count ? current - count : current) >= count ? 1 : 0;
+        });
+        return new QueuedSeatCounter(roomRepository, transactionManager, reservationMetrics, waitMillis, 256);
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+    }
+}
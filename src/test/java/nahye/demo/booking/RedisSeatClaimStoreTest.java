@@ -0,0 +1,153 @@
+package nahye.demo.booking;
+
+import nahye.demo.dto.reservation.ReservationSlot;
+import nahye.demo.entity.Room;
+import nahye.demo.repository.ReservationRepository;
+import nahye.demo.repository.RoomRepository;
+import nahye.demo.support.InMemoryRedis;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Lua 점유 스크립트: 겹치는 슬롯 충돌, 남은 좌석 한도, 단체 예약 원자성, Redis 유실 후 DB 재적재
+class RedisSeatClaimStoreTest {
+
+    private static InMemoryRedis redis;
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private RedisSeatClaimStore store;
+    private Room room;
+    private LocalDateTime ten;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = new InMemoryRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        store = new RedisSeatClaimStore(redis.template(), mock(RemainingSeatsWriteBehind.class),
+                mock(RoomRepository.class), reservationRepository);
+        room = Room.builder().id(1L).roomName("실습실1").seats(3).remainingSeats(3).roomImg("img").build();
+        ten = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        when(reservationRepository.findActiveRoomSlots(eq(1L), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void overlappingSlotConflictsButAdjacentSlotDoesNot() {
+        assertThat(store.claim(room, 1, ten, ten.plusHours(1))).isEqualTo(ClaimResult.CLAIMED);
+
+        assertThat(store.claim(room, 1, ten.plusMinutes(45), ten.plusHours(2))).isEqualTo(ClaimResult.SEAT_TAKEN);
+        assertThat(store.claim(room, 1, ten.plusHours(1), ten.plusHours(2))).isEqualTo(ClaimResult.CLAIMED);
+    }
+
+    @Test
+    void counterStopsAtZero() {
+        for (int seat = 1; seat <= 3; seat++) {
+            assertThat(store.claim(room, seat, ten, ten.plusHours(1))).isEqualTo(ClaimResult.CLAIMED);
+        }
+        assertThat(store.claim(room, 1, ten.plusHours(5), ten.plusHours(6))).isEqualTo(ClaimResult.ROOM_FULL);
+        assertThat(counter()).isEqualTo("0");
+    }
+
+    @Test
+    void claimAllIsAllOrNothing() {
+        assertThat(store.claim(room, 2, ten, ten.plusHours(1))).isEqualTo(ClaimResult.CLAIMED);
+
+        assertThat(store.claimAll(room, List.of(1, 2, 3), ten, ten.plusHours(1))).isEqualTo(ClaimResult.SEAT_TAKEN);
+        assertThat(store.claim(room, 1, ten, ten.plusHours(1))).isEqualTo(ClaimResult.CLAIMED);
+        assertThat(store.claimAll(room, List.of(3), ten.plusHours(2), ten.plusHours(3))).isEqualTo(ClaimResult.CLAIMED);
+        assertThat(store.claimAll(room, List.of(1, 2), ten.plusHours(4), ten.plusHours(5))).isEqualTo(ClaimResult.ROOM_FULL);
+        assertThat(counter()).isEqualTo("0");
+    }
+
+    @Test
+    void releaseTwiceRestoresOneSeat() {
+        store.claim(room, 1, ten, ten.plusHours(1));
+
+        store.release(room, 1, ten, ten.plusHours(1));
+        store.release(room, 1, ten, ten.plusHours(1));
+
+        assertThat(counter()).isEqualTo("3");
+        assertThat(store.claim(room, 1, ten, ten.plusHours(1))).isEqualTo(ClaimResult.CLAIMED);
+    }
+
+    @Test
+    void concurrentClaimsOfOneSeatHaveOneWinner() throws Exception {
+        int clients = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ClaimResult>> results = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Callable<ClaimResult> attempt = () -> {
+                start.await();
+                return store.claim(room, 2, ten, ten.plusHours(1));
+            };
+            results.add(executor.submit(attempt));
+        }
+        start.countDown();
+
+        int claimed = 0;
+        for (Future<ClaimResult> result : results) {
+            if (result.get() == ClaimResult.CLAIMED) {
+                claimed++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(claimed).isEqualTo(1);
+        assertThat(counter()).isEqualTo("2");
+    }
+
+    @Test
+    void reloadsFromDatabaseAfterRedisIsFlushed() {
+        store.claim(room, 1, ten, ten.plusHours(1));
+        redis.flushAll();
+        // DB 에는 커밋된 예약 하나. rooms.remaining_seats 값(3)이 아니라 예약 수로 카운터를 만듦
+        when(reservationRepository.findActiveRoomSlots(eq(1L), any()))
+                .thenReturn(List.of(new ReservationSlot(10L, 1L, 1, ten, ten.plusHours(1))));
+
+        assertThat(store.claim(room, 1, ten.plusMinutes(30), ten.plusHours(1))).isEqualTo(ClaimResult.SEAT_TAKEN);
+        assertThat(counter()).isEqualTo("2");
+        assertThat(store.claim(room, 2, ten, ten.plusHours(1))).isEqualTo(ClaimResult.CLAIMED);
+
+        // 첫 점유 때 한 번, 유실 후 한 번
+        verify(reservationRepository, times(2)).findActiveRoomSlots(eq(1L), any());
+    }
+
+    @Test
+    void rebuildDoesNotOverwriteLoadedRoom() {
+        store.claim(room, 1, ten, ten.plusHours(1));
+
+        assertThat(store.rebuild(room, List.of())).isFalse();
+        assertThat(counter()).isEqualTo("2");
+    }
+
+    private String counter() {
+        return redis.template().opsForValue().get(RedisSeatClaimStore.counterKey(1L));
+    }
+}
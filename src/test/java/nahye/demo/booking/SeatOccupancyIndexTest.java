@@ -0,0 +1,85 @@
+package nahye.demo.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatOccupancyIndexTest {
+
+    private final SeatOccupancyIndex index = new SeatOccupancyIndex();
+    private final LocalDateTime ten = LocalDateTime.of(2030, 3, 4, 10, 0);
+
+    @Test
+    void rejectsEveryKindOfOverlap() {
+        assertThat(index.claim(1L, 10, 1, ten, ten.plusHours(2))).isTrue();
+
+        assertThat(index.claim(1L, 10, 1, ten, ten.plusHours(2))).as("같은 구간").isFalse();
+        assertThat(index.claim(1L, 10, 1, ten.minusHours(1), ten.plusMinutes(1))).as("앞에서 걸침").isFalse();
+        assertThat(index.claim(1L, 10, 1, ten.plusHours(1), ten.plusHours(3))).as("뒤에서 걸침").isFalse();
+        assertThat(index.claim(1L, 10, 1, ten.plusMinutes(30), ten.plusHours(1))).as("안에 포함").isFalse();
+        assertThat(index.claim(1L, 10, 1, ten.minusHours(1), ten.plusHours(3))).as("감쌈").isFalse();
+    }
+
+    @Test
+    void adjacentIntervalsAndOtherSeatsDoNotConflict() {
+        assertThat(index.claim(1L, 10, 1, ten, ten.plusHours(1))).isTrue();
+
+        assertThat(index.claim(1L, 10, 1, ten.plusHours(1), ten.plusHours(2))).isTrue();
+        assertThat(index.claim(1L, 10, 1, ten.minusHours(1), ten)).isTrue();
+        assertThat(index.claim(1L, 10, 2, ten, ten.plusHours(1))).isTrue();
+        assertThat(index.claim(2L, 10, 1, ten, ten.plusHours(1))).isTrue();
+    }
+
+    @Test
+    void releaseFreesOnlyThatReservation() {
+        index.claim(1L, 10, 1, ten, ten.plusHours(1));
+        index.claim(1L, 10, 1, ten.plusHours(2), ten.plusHours(3));
+
+        index.release(1L, 1, ten);
+
+        assertThat(index.isFree(1L, 10, 1, ten, ten.plusHours(1))).isTrue();
+        assertThat(index.isFree(1L, 10, 1, ten.plusHours(2), ten.plusHours(3))).isFalse();
+    }
+
+    @Test
+    void releaseOfUnknownRoomIsIgnored() {
+        index.release(99L, 1, ten);
+
+        assertThat(index.isFree(99L, 10, 1, ten, ten.plusHours(1))).isTrue();
+    }
+
+    @Test
+    void concurrentOverlappingClaimsHaveOneWinner() throws Exception {
+        int clients = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            int offset = i;
+            results.add(executor.submit(() -> {
+                start.await();
+                // 모두 10:30 을 포함하는 서로 다른 구간
+                return index.claim(1L, 10, 3, ten.plusMinutes(offset % 30), ten.plusMinutes(31 + offset));
+            }));
+        }
+        start.countDown();
+
+        int claimed = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                claimed++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(claimed).isEqualTo(1);
+    }
+}
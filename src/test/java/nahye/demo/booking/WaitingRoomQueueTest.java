@@ -0,0 +1,122 @@
+package nahye.demo.booking;
+
+import nahye.demo.dto.queue.QueueStatusResponse;
+import nahye.demo.support.InMemoryRedis;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 입장 티켓: 동시 사용은 한 번만 성공, 예약 실패 시 복구, 대기열이 닫힌 실습실은 티켓 불필요
+class WaitingRoomQueueTest {
+
+    private static final Long ROOM_ID = 7L;
+
+    private static InMemoryRedis redis;
+
+    private WaitingRoomQueue queue;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = new InMemoryRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        queue = new WaitingRoomQueue(redis.template(), 10, 1, 300);
+        queue.open(ROOM_ID);
+    }
+
+    @Test
+    void admittedTicketIsConsumedOnlyOnceUnderConcurrency() throws Exception {
+        String ticket = admit("student1");
+
+        int requests = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<WaitingRoomQueue.Admission>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return queue.consume(ROOM_ID, "student1", ticket);
+            }));
+        }
+        start.countDown();
+
+        int consumed = 0;
+        for (Future<WaitingRoomQueue.Admission> result : results) {
+            if (result.get() != null) {
+                consumed++;
+            }
+        }
+        pool.shutdown();
+        assertThat(consumed).isEqualTo(1);
+    }
+
+    @Test
+    void restoredTicketCanBeUsedAgain() {
+        String ticket = admit("student1");
+
+        WaitingRoomQueue.Admission admission = queue.consume(ROOM_ID, "student1", ticket);
+        assertThat(admission).isNotNull();
+        assertThat(queue.consume(ROOM_ID, "student1", ticket)).isNull();
+
+        queue.restore(admission);
+        assertThat(queue.status(ROOM_ID, "student1").isAdmitted()).isTrue();
+        assertThat(queue.consume(ROOM_ID, "student1", ticket)).isNotNull();
+    }
+
+    @Test
+    void wrongOrMissingTicketIsRejected() {
+        admit("student1");
+
+        assertThat(queue.consume(ROOM_ID, "student1", "other")).isNull();
+        assertThat(queue.consume(ROOM_ID, "student1", null)).isNull();
+        assertThat(queue.consume(ROOM_ID, "student2", "other")).isNull();
+    }
+
+    @Test
+    void waitingUserIsNotAdmittedUntilTheirTurn() {
+        WaitingRoomQueue small = new WaitingRoomQueue(redis.template(), 1, 1, 300);
+        small.open(ROOM_ID);
+        String first = small.enter(ROOM_ID, "student1").getTicket();
+        String second = small.enter(ROOM_ID, "student2").getTicket();
+
+        small.admit();
+
+        assertThat(small.consume(ROOM_ID, "student2", second)).isNull();
+        QueueStatusResponse status = small.status(ROOM_ID, "student2");
+        assertThat(status.isAdmitted()).isFalse();
+        assertThat(status.getPosition()).isZero();
+        assertThat(small.consume(ROOM_ID, "student1", first)).isNotNull();
+    }
+
+    @Test
+    void closedRoomNeedsNoTicket() {
+        queue.close(ROOM_ID);
+
+        assertThat(queue.consume(ROOM_ID, "student1", null)).isSameAs(WaitingRoomQueue.Admission.NOT_REQUIRED);
+    }
+
+    private String admit(String userId) {
+        String ticket = queue.enter(ROOM_ID, userId).getTicket();
+        queue.admit();
+        assertThat(queue.status(ROOM_ID, userId).isAdmitted()).isTrue();
+        return ticket;
+    }
+}
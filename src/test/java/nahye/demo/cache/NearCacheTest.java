@@ -0,0 +1,148 @@
+package nahye.demo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nahye.demo.support.InMemoryRedis;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 놓치면 원본 한 번, 이후 L1, 다른 노드는 L2 에서 읽음, 무효화 후 새 값, 조회 중 무효화된 이전 값은 L1/L2 어디에도 남지 않음
+class NearCacheTest {
+
+    private static final String KEY = "1";
+    private static final String REMOTE_KEY = "cache:{item:1}";
+
+    private static InMemoryRedis redis;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicReference<Item> source = new AtomicReference<>(new Item("old"));
+    private final AtomicInteger loads = new AtomicInteger();
+    private NearCache<Item> node;
+    private NearCache<Item> otherNode;
+
+    record Item(String name) {
+    }
+
+    @BeforeAll
+    static void startRedis() {
+        redis = new InMemoryRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        node = newNode(meterRegistry);
+        otherNode = newNode(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void missLoadsOnceThenServesFromL1() {
+        assertThat(node.get(KEY, this::load)).contains(new Item("old"));
+        assertThat(node.get(KEY, this::load)).contains(new Item("old"));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("l1_hit")).isEqualTo(1);
+        assertThat(redis.template().hasKey(REMOTE_KEY)).isTrue();
+    }
+
+    @Test
+    void otherNodeReadsFromL2() {
+        node.get(KEY, this::load);
+
+        assertThat(otherNode.get(KEY, this::load)).contains(new Item("old"));
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidationReloadsOnEveryNode() {
+        node.get(KEY, this::load);
+        otherNode.get(KEY, this::load);
+
+        source.set(new Item("new"));
+        node.invalidate(KEY);
+        deliver(otherNode);
+
+        assertThat(node.get(KEY, this::load)).contains(new Item("new"));
+        assertThat(otherNode.get(KEY, this::load)).contains(new Item("new"));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void staleLoadRacingInvalidationIsNotCachedBack() {
+        // 원본을 읽은 직후 다른 요청이 값을 바꾸고 커밋 후 무효화
+        Optional<Item> stale = node.get(KEY, () -> {
+            Optional<Item> loaded = load();
+            source.set(new Item("new"));
+            otherNode.invalidate(KEY);
+            return loaded;
+        });
+        assertThat(stale).contains(new Item("old"));
+        assertThat(redis.template().hasKey(REMOTE_KEY)).isFalse();
+
+        assertThat(otherNode.get(KEY, this::load)).contains(new Item("new"));
+        assertThat(node.get(KEY, this::load)).contains(new Item("new"));
+    }
+
+    @Test
+    void loadRacingInvalidationMessageIsNotKeptInL1() {
+        // 무효화 메시지가 이 노드의 원본 조회 중에 도착
+        node.get(KEY, () -> {
+            Optional<Item> loaded = load();
+            source.set(new Item("new"));
+            deliver(node);
+            return loaded;
+        });
+        // L2 를 비워 L1 에 남은 값이 있는지만 확인
+        redis.template().delete(REMOTE_KEY);
+
+        assertThat(node.get(KEY, this::load)).contains(new Item("new"));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void absentValueIsNotCached() {
+        assertThat(node.get(KEY, Optional::empty)).isEmpty();
+
+        assertThat(node.get(KEY, this::load)).contains(new Item("old"));
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private NearCache<Item> newNode(SimpleMeterRegistry registry) {
+        return new NearCache<>("item", Item.class, redis.template(), mock(RedisMessageListenerContainer.class),
+                new ObjectMapper(), registry, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    private Optional<Item> load() {
+        loads.incrementAndGet();
+        return Optional.of(source.get());
+    }
+
+    // 리스너 컨테이너 대신 pub/sub 메시지를 직접 전달
+    private static void deliver(NearCache<Item> target) {
+        target.onMessage(new DefaultMessage("sejali:cache-invalidate:item".getBytes(StandardCharsets.UTF_8),
+                KEY.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("sejali.cache.requests").tag("result", result).counter().count();
+    }
+}
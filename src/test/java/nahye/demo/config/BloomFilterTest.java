@@ -0,0 +1,87 @@
+package nahye.demo.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAddedValues() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            filter.add(jti);
+            added.add(jti);
+        }
+
+        assertThat(added).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+        // 목표 1%, 해시 편차를 감안해 2% 까지 허용
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void tinyFilterStillWorks() {
+        BloomFilter filter = new BloomFilter(1, 0.01);
+        filter.add("토큰");
+
+        assertThat(filter.mightContain("토큰")).isTrue();
+    }
+
+    @Test
+    void concurrentAddsToSharedWordsAreNotLost() throws Exception {
+        // 비트가 작아 여러 스레드가 같은 long 워드에 CAS 경쟁
+        BloomFilter filter = new BloomFilter(64, 0.01);
+        int threads = 16;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            done.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    filter.add(thread + ":" + i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : done) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertThat(filter.mightContain(t + ":" + i)).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package nahye.demo.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nahye.demo.enums.AuthLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// AT 는 DB 조회 없이 인증, RT 와 구독 토큰은 Bearer 로 거부, 권한 클레임 없는 이전 토큰은 AT 유효기간 이하인 것만 사용자 조회
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-key-test-secret-key-0123456789abcdef";
+    private static final String USER_ID = "20240001";
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 1_000, new TokenBlacklist(null, null, 1_000),
+                new SessionRevocation(null, null));
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, new SimpleMeterRegistry());
+        when(userDetailsService.loadUserByUsername(anyString())).thenAnswer(invocation -> User
+                .withUsername(invocation.getArgument(0))
+                .password("{noop}unused")
+                .authorities(AuthLevel.USER.name())
+                .build());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void accessTokenIsAuthenticatedWithoutUserLookup() throws Exception {
+        Authentication authentication = authenticate(tokenProvider.createAccessToken(USER_ID, AuthLevel.ADMIN));
+
+        assertThat(authentication.getName()).isEqualTo(USER_ID);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly(AuthLevel.ADMIN.name());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void refreshTokenIsRejectedAsBearer() throws Exception {
+        assertThat(authenticate(tokenProvider.createRefreshToken(USER_ID))).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void streamTokenIsRejectedAsBearer() throws Exception {
+        assertThat(authenticate(tokenProvider.createStreamToken(USER_ID, AuthLevel.USER))).isNull();
+    }
+
+    @Test
+    void legacyAccessTokenStillLoadsTheUser() throws Exception {
+        Authentication authentication = authenticate(legacyToken(JwtTokenProvider.ACCESS_TOKEN_VALIDITY));
+
+        assertThat(authentication.getName()).isEqualTo(USER_ID);
+        verify(userDetailsService).loadUserByUsername(USER_ID);
+    }
+
+    @Test
+    void legacyRefreshTokenIsRejected() throws Exception {
+        // 용도 클레임 도입 전 RT (7일)
+        assertThat(authenticate(legacyToken(JwtTokenProvider.REFRESH_TOKEN_VALIDITY))).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/room");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    // 권한/용도 클레임이 없던 이전 형식의 토큰
+    private static String legacyToken(long validity) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(USER_ID)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + validity))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
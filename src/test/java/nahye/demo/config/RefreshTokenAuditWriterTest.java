@@ -0,0 +1,72 @@
+package nahye.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nahye.demo.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenAuditWriterTest {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fullQueueDropsAndCounts() {
+        RefreshTokenAuditWriter writer = new RefreshTokenAuditWriter(repository, meterRegistry, 2, 3);
+
+        for (int i = 0; i < 5; i++) {
+            writer.issued("hash" + i, "user", LocalDateTime.now());
+        }
+
+        assertThat(count("dropped")).isEqualTo(3);
+        assertThat(meterRegistry.get("sejali.refresh-token.audit.pending").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void failedBatchIsRetriedBeforeNewRecords() {
+        RefreshTokenAuditWriter writer = new RefreshTokenAuditWriter(repository, meterRegistry, 100, 3);
+        when(repository.saveAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(null);
+        writer.issued("hash1", "user", LocalDateTime.now());
+
+        writer.flush();
+        writer.issued("hash2", "user", LocalDateTime.now());
+        writer.flush();
+
+        // 실패 1 + 재시도 1 + 새 배치 1
+        verify(repository, times(3)).saveAll(anyList());
+        assertThat(count("written")).isEqualTo(2);
+        assertThat(count("dead_lettered")).isZero();
+    }
+
+    @Test
+    void batchIsDeadLetteredAfterMaxAttempts() {
+        RefreshTokenAuditWriter writer = new RefreshTokenAuditWriter(repository, meterRegistry, 100, 3);
+        when(repository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+        writer.issued("hash1", "user", LocalDateTime.now());
+
+        for (int i = 0; i < 3; i++) {
+            writer.flush();
+        }
+
+        assertThat(count("dead_lettered")).isEqualTo(1);
+        assertThat(count("retried")).isEqualTo(2);
+        writer.flush();
+        verify(repository, times(3)).saveAll(anyList());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("sejali.refresh-token.audit").tag("outcome", outcome).counter().count();
+    }
+}
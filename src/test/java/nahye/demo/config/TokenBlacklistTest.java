@@ -0,0 +1,68 @@
+package nahye.demo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 블룸 필터 세대 교체: 무효화된 jti 는 최소 한 세대(액세스 토큰 유효기간) 동안 남고, 필터에 없는 jti 는 Redis 를 조회하지 않음
+class TokenBlacklistTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private TokenBlacklist blacklist;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        when(redisTemplate.hasKey(anyString())).thenReturn(true);
+        blacklist = new TokenBlacklist(redisTemplate, mock(RedisMessageListenerContainer.class), 1_000);
+    }
+
+    @Test
+    void unknownTokenIsDecidedWithoutRedis() {
+        assertThat(blacklist.isRevoked("valid-jti")).isFalse();
+
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void revokedTokenSurvivesOneRotation() {
+        blacklist.revoke("jti-1", 60_000);
+        blacklist.rotate();
+
+        assertThat(blacklist.isRevoked("jti-1")).isTrue();
+
+        blacklist.rotate();
+        assertThat(blacklist.isRevoked("jti-1")).isFalse();
+    }
+
+    @Test
+    void revocationFromOtherNodeIsApplied() {
+        blacklist.onMessage(new DefaultMessage(TokenBlacklist.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "jti-2".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(blacklist.isRevoked("jti-2")).isTrue();
+    }
+
+    @Test
+    void filterHitIsConfirmedInRedis() {
+        blacklist.markRevoked("jti-3");
+        when(redisTemplate.hasKey(TokenBlacklist.key("jti-3"))).thenReturn(false);
+
+        // 필터 오탐 또는 Redis 키 만료
+        assertThat(blacklist.isRevoked("jti-3")).isFalse();
+    }
+}
@@ -0,0 +1,254 @@
+package nahye.demo.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import nahye.demo.support.InMemoryRedis;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 키의 재시도는 한 번만 실행되고 저장된 응답을 돌려줌, 인증 전 요청은 IP 별로 분리, 5xx 는 저장하지 않음, 처리 중 표시 TTL 연장,
+// 기다리던 재시도가 인터럽트되면 바로 409
+class IdempotencyFilterTest {
+
+    private static final String SIGNUP = "/user/signup";
+    private static final String RESERVATION = "/reservation";
+    private static final String PENDING_KEY = "anonymous@10.0.0.1:/user/signup:key-1";
+    private static final String PENDING_REDIS_KEY = "idempotency:" + PENDING_KEY;
+
+    private static InMemoryRedis redis;
+
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeAll
+    static void startRedis() {
+        redis = new InMemoryRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        store = new IdempotencyStore(redis.template(), new ObjectMapper(), Set.of(RESERVATION, SIGNUP), 24, 30, 5_000);
+        filter = new IdempotencyFilter(store, new SimpleMeterRegistry());
+        executions.set(0);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryIsReplayedWithoutExecutingAgain() throws Exception {
+        MockHttpServletResponse first = send(request(SIGNUP, "key-1", "{\"userId\":\"a\"}", "10.0.0.1"), created());
+        MockHttpServletResponse retry = send(request(SIGNUP, "key-1", "{\"userId\":\"a\"}", "10.0.0.1"), created());
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() throws Exception {
+        send(request(SIGNUP, "key-1", "{\"userId\":\"a\"}", "10.0.0.1"), created());
+        MockHttpServletResponse other = send(request(SIGNUP, "key-1", "{\"userId\":\"b\"}", "10.0.0.1"), created());
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(other.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void anonymousClientsWithSameKeyDoNotShareResults() throws Exception {
+        send(request(SIGNUP, "key-1", "{\"userId\":\"a\"}", "10.0.0.1"), created());
+        MockHttpServletResponse other = send(request(SIGNUP, "key-1", "{\"userId\":\"b\"}", "10.0.0.2"), created());
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(other.getStatus()).isEqualTo(201);
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void authenticatedUsersAreScopedByUserNotAddress() throws Exception {
+        authenticate("student1");
+        send(request(RESERVATION, "key-1", "{\"roomId\":1}", "10.0.0.1"), created());
+        MockHttpServletResponse fromOtherAddress = send(request(RESERVATION, "key-1", "{\"roomId\":1}", "10.0.0.2"), created());
+
+        authenticate("student2");
+        MockHttpServletResponse otherUser = send(request(RESERVATION, "key-1", "{\"roomId\":1}", "10.0.0.1"), created());
+
+        assertThat(fromOtherAddress.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(otherUser.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void serverErrorIsNotStored() throws Exception {
+        FilterChain failing = (req, res) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(500);
+        };
+        send(request(SIGNUP, "key-1", "{}", "10.0.0.1"), failing);
+        MockHttpServletResponse retry = send(request(SIGNUP, "key-1", "{}", "10.0.0.1"), created());
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void concurrentRetriesWaitForTheFirstRequest() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (req, res) -> {
+            executions.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            res.getWriter().write("done");
+        };
+
+        int retries = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(retries + 1);
+        Future<MockHttpServletResponse> first = pool.submit(() -> send(request(SIGNUP, "key-1", "{}", "10.0.0.1"), slow));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Future<MockHttpServletResponse>> others = new ArrayList<>();
+        for (int i = 0; i < retries; i++) {
+            others.add(pool.submit(() -> send(request(SIGNUP, "key-1", "{}", "10.0.0.1"), slow)));
+        }
+        release.countDown();
+
+        assertThat(first.get().getContentAsString()).isEqualTo("done");
+        for (Future<MockHttpServletResponse> other : others) {
+            assertThat(other.get().getContentAsString()).isEqualTo("done");
+            assertThat(other.get().getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        }
+        pool.shutdown();
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void interruptedRetryAnswersInsteadOfPolling() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (req, res) -> {
+            executions.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<MockHttpServletResponse> first = pool.submit(() -> send(request(SIGNUP, "key-1", "{}", "10.0.0.1"), slow));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 첫 요청을 기다리던 재시도가 인터럽트됨 (예: 종료 중)
+        MockHttpServletResponse[] retry = new MockHttpServletResponse[1];
+        Thread waiting = new Thread(() -> {
+            try {
+                retry[0] = send(request(SIGNUP, "key-1", "{}", "10.0.0.1"), slow);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        waiting.start();
+        Thread.sleep(200);
+        waiting.interrupt();
+        waiting.join(1_000);
+
+        assertThat(waiting.isAlive()).isFalse();
+        assertThat(retry[0].getStatus()).isEqualTo(409);
+        assertThat(executions.get()).isEqualTo(1);
+
+        release.countDown();
+        first.get();
+        pool.shutdown();
+    }
+
+    @Test
+    void pendingMarkIsExtendedWhileInFlight() {
+        String pending = store.tryAcquire(PENDING_KEY, StoredResponse.pending("owner", "fp"));
+        assertThat(pending).isNotNull();
+        redis.template().expire(PENDING_REDIS_KEY, 100, TimeUnit.MILLISECONDS);
+
+        store.refreshPending();
+        assertThat(redis.template().getExpire(PENDING_REDIS_KEY, TimeUnit.MILLISECONDS)).isGreaterThan(1_000L);
+
+        store.release(PENDING_KEY, pending);
+        assertThat(redis.template().hasKey(PENDING_REDIS_KEY)).isFalse();
+    }
+
+    @Test
+    void expiredPendingMarkTakenByAnotherRequestIsNotExtended() {
+        store.tryAcquire(PENDING_KEY, StoredResponse.pending("owner", "fp"));
+        // 처리 중 표시가 만료되고 다른 노드의 요청이 같은 키를 가져감
+        redis.template().delete(PENDING_REDIS_KEY);
+        redis.template().opsForValue().set(PENDING_REDIS_KEY, "other", 100, TimeUnit.MILLISECONDS);
+
+        store.refreshPending();
+
+        assertThat(redis.template().getExpire(PENDING_REDIS_KEY, TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(100L);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain created() {
+        return (req, res) -> {
+            int n = executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(201);
+            res.setContentType("application/json");
+            res.getWriter().write("{\"execution\":" + n + "}");
+        };
+    }
+
+    private static MockHttpServletRequest request(String path, String key, String body, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static void authenticate(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+}
@@ -0,0 +1,103 @@
+package nahye.demo.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 간격 100ns, 버스트 3 인 GCRA 버킷: 버스트까지 허용, 거절 시 남은 대기 시간, 간격마다 한 개씩 회복, 동시 요청에서 초과 허용 없음
+class RateBucketTest {
+
+    private static final long INTERVAL = 100;
+    private static final int BURST = 3;
+    private static final long START = 1_000_000;
+
+    private final RateBucket bucket = new RateBucket();
+
+    @Test
+    void burstIsAllowedThenRejected() {
+        for (int i = 0; i < BURST; i++) {
+            assertThat(bucket.tryAcquire(START, INTERVAL, BURST)).isZero();
+        }
+        assertThat(bucket.tryAcquire(START, INTERVAL, BURST)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void rejectionReturnsTimeUntilNextAllowedRequest() {
+        for (int i = 0; i < BURST; i++) {
+            bucket.tryAcquire(START, INTERVAL, BURST);
+        }
+
+        long wait = bucket.tryAcquire(START + 30, INTERVAL, BURST);
+        assertThat(wait).isEqualTo(INTERVAL - 30);
+
+        assertThat(bucket.tryAcquire(START + 30 + wait - 1, INTERVAL, BURST)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(START + 30 + wait, INTERVAL, BURST)).isZero();
+    }
+
+    @Test
+    void rejectedRequestDoesNotConsumeCapacity() {
+        for (int i = 0; i < BURST; i++) {
+            bucket.tryAcquire(START, INTERVAL, BURST);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryAcquire(START + i, INTERVAL, BURST)).isPositive();
+        }
+
+        assertThat(bucket.tryAcquire(START + INTERVAL, INTERVAL, BURST)).isZero();
+    }
+
+    @Test
+    void idleBucketRefillsOnlyUpToBurst() {
+        assertThat(bucket.tryAcquire(START, INTERVAL, BURST)).isZero();
+
+        long later = START + INTERVAL * 100;
+        for (int i = 0; i < BURST; i++) {
+            assertThat(bucket.tryAcquire(later, INTERVAL, BURST)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later, INTERVAL, BURST)).isPositive();
+    }
+
+    @Test
+    void steadyRateAtTheIntervalIsAlwaysAllowed() {
+        for (int i = 0; i < 50; i++) {
+            assertThat(bucket.tryAcquire(START + i * INTERVAL, INTERVAL, 1)).isZero();
+        }
+        assertThat(bucket.tryAcquire(START + 49 * INTERVAL + 1, INTERVAL, 1)).isPositive();
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedBurst() throws Exception {
+        int threads = 16;
+        int burst = 5;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int allowed = 0;
+                for (int i = 0; i < 100; i++) {
+                    if (bucket.tryAcquire(START, INTERVAL, burst) == 0) {
+                        allowed++;
+                    }
+                }
+                return allowed;
+            }));
+        }
+        start.countDown();
+
+        int allowed = 0;
+        for (Future<Integer> result : results) {
+            allowed += result.get();
+        }
+        pool.shutdown();
+        assertThat(allowed).isEqualTo(burst);
+    }
+}
@@ -0,0 +1,125 @@
+package nahye.demo.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// tick 10ms, 버킷 8개(0단계 범위 80ms) 휠: 만료 시점, 상위 단계 cascade, 한 바퀴 이상 돈 뒤의 버킷 재사용, 취소
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    private TimingWheel wheel;
+    private final List<Long> fired = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel(TICK, WHEEL_SIZE, 0);
+        fired.clear();
+    }
+
+    @Test
+    void timerFiresInTheTickContainingItsExpiration() {
+        add(35);
+
+        advance(29);
+        assertThat(fired).isEmpty();
+
+        advance(30);
+        assertThat(fired).containsExactly(35L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void alreadyExpiredTimerIsRejected() {
+        advance(50);
+
+        assertThat(wheel.add(entry(55))).isFalse();
+        assertThat(wheel.add(entry(60))).isTrue();
+    }
+
+    @Test
+    void timerBeyondFirstLevelCascadesDownAndFiresOnTime() {
+        add(35);
+        add(115);  // 0단계의 35 와 같은 버킷 번호지만 다음 바퀴
+        add(700);  // 2단계
+
+        advance(79);
+        assertThat(fired).containsExactly(35L);
+
+        advance(109);
+        assertThat(fired).containsExactly(35L);
+
+        advance(110);
+        assertThat(fired).containsExactly(35L, 115L);
+
+        advance(699);
+        assertThat(fired).containsExactly(35L, 115L);
+
+        advance(700);
+        assertThat(fired).containsExactly(35L, 115L, 700L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void bucketsAreReusedAfterTheWheelWrapsAround() {
+        advance(1_000);
+
+        add(1_035);
+        add(1_035 + TICK * WHEEL_SIZE);
+
+        advance(1_030);
+        assertThat(fired).containsExactly(1_035L);
+
+        advance(1_109);
+        assertThat(fired).containsExactly(1_035L);
+
+        advance(1_110);
+        assertThat(fired).containsExactly(1_035L, 1_115L);
+    }
+
+    @Test
+    void removedTimerDoesNotFire() {
+        TimerEntry kept = add(40);
+        TimerEntry removed = add(40);
+        TimerEntry cascaded = add(300);
+
+        wheel.remove(removed);
+        wheel.remove(cascaded);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        advance(400);
+        assertThat(fired).containsExactly(kept.getExpirationMs());
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimerIsSkippedWhenItsBucketIsDrained() {
+        TimerEntry entry = add(200);
+        entry.markCancelled();
+
+        advance(300);
+
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    private TimerEntry add(long expirationMs) {
+        TimerEntry entry = entry(expirationMs);
+        assertThat(wheel.add(entry)).isTrue();
+        return entry;
+    }
+
+    private TimerEntry entry(long expirationMs) {
+        return new TimerEntry(expirationMs, () -> fired.add(expirationMs));
+    }
+
+    private void advance(long nowMs) {
+        wheel.advance(nowMs, entry -> entry.getTask().run());
+    }
+}
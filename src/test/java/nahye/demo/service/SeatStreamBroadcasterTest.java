@@ -0,0 +1,165 @@
+package nahye.demo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nahye.demo.booking.SeatClaimStore;
+import nahye.demo.event.RoomChangeMessage;
+import nahye.demo.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 한 주기에 여러 실습실이 바뀌어도 전체 구독자는 프레임 하나, 실습실 구독자는 그 실습실만, 계속 밀리는 구독자만 끊음
+class SeatStreamBroadcasterTest {
+
+    private static final int ROOMS = 10;
+    private static final int MAX_MISSED = 3;
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final SeatClaimStore seatClaimStore = mock(SeatClaimStore.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private SeatStreamBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAllIds()).thenReturn(LongStream.rangeClosed(1, ROOMS).boxed().toList());
+        when(seatClaimStore.remainingSeats(any())).thenAnswer(invocation -> {
+            Collection<Long> roomIds = invocation.getArgument(0);
+            return roomIds.stream().collect(Collectors.toMap(Function.identity(), roomId -> 5));
+        });
+        broadcaster = new SeatStreamBroadcaster(roomRepository, seatClaimStore, objectMapper, MAX_MISSED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void allRoomsSubscriberGetsOneFramePerInterval() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        broadcaster.subscribe(null, emitter);
+        assertThat(emitter.next()).startsWith("event:snapshot");
+
+        for (int interval = 0; interval < MAX_MISSED + 2; interval++) {
+            changeAllRooms();
+            broadcaster.flush();
+
+            String event = emitter.next();
+            assertThat(event).startsWith("event:seats");
+            assertThat(data(event)).hasSize(ROOMS);
+            // 건너뛴 프레임이 없으므로 스냅샷 재전송도 없음
+            assertThat(emitter.events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        }
+        assertThat(emitter.completed).isFalse();
+    }
+
+    @Test
+    void roomSubscriberGetsOnlyItsRoom() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        broadcaster.subscribe(3L, emitter);
+        assertThat(emitter.next()).startsWith("event:snapshot");
+
+        changeAllRooms();
+        broadcaster.flush();
+
+        JsonNode frame = data(emitter.next());
+        assertThat(frame.get("roomId").asLong()).isEqualTo(3L);
+        assertThat(frame.get("remainingSeats").asInt()).isEqualTo(5);
+        assertThat(frame.get("changes")).hasSize(1);
+        assertThat(emitter.events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void stuckSubscriberIsDroppedAfterMaxMissedIntervals() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        broadcaster.subscribe(null, emitter);
+        assertThat(emitter.next()).startsWith("event:snapshot");
+
+        // 첫 프레임 전송이 끝나지 않는 동안 주기마다 한 번씩 건너뜀
+        changeAllRooms();
+        broadcaster.flush();
+        assertThat(emitter.next()).startsWith("event:seats");
+        for (int interval = 0; interval < MAX_MISSED; interval++) {
+            changeAllRooms();
+            broadcaster.flush();
+        }
+        assertThat(emitter.completed).isFalse();
+
+        changeAllRooms();
+        broadcaster.flush();
+        assertThat(emitter.completed).isTrue();
+        release.countDown();
+    }
+
+    private void changeAllRooms() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 9, 0);
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            broadcaster.enqueue(new RoomChangeMessage("node", roomId, 1, start, start.plusHours(1), true));
+        }
+    }
+
+    private JsonNode data(String event) throws IOException {
+        return objectMapper.readTree(event.substring(event.indexOf("data:") + "data:".length()).trim());
+    }
+
+    // 보낸 이벤트를 텍스트로 기록. release 가 있으면 "seats" 전송이 그때까지 끝나지 않음 (느린 연결)
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch release) {
+            super(0L);
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            String event = builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining());
+            if (event.startsWith(":")) {
+                return;
+            }
+            events.add(event);
+            if (release != null && event.startsWith("event:seats")) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private String next() throws InterruptedException {
+            String event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).isNotNull();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package nahye.demo.service;
+
+import jakarta.persistence.EntityManager;
+import nahye.demo.booking.ClaimResult;
+import nahye.demo.booking.SeatAvailabilityIndex;
+import nahye.demo.booking.SeatClaimStore;
+import nahye.demo.cache.RoomCache;
+import nahye.demo.cache.UserCache;
+import nahye.demo.cache.UserSummary;
+import nahye.demo.config.AuthMetrics;
+import nahye.demo.config.JpaRefreshTokenStore;
+import nahye.demo.config.JwtTokenProvider;
+import nahye.demo.config.ReservationMetrics;
+import nahye.demo.config.SessionRevocation;
+import nahye.demo.config.TokenBlacklist;
+import nahye.demo.config.VerifiedToken;
+import nahye.demo.dto.reservation.BulkReservationRequest;
+import nahye.demo.dto.reservation.ReservationRequest;
+import nahye.demo.dto.room.RoomRequest;
+import nahye.demo.dto.user.SignRequest;
+import nahye.demo.entity.IdGeneration;
+import nahye.demo.entity.Reservation;
+import nahye.demo.entity.Room;
+import nahye.demo.entity.User;
+import nahye.demo.enums.AuthLevel;
+import nahye.demo.repository.ReservationRepository;
+import nahye.demo.repository.RoomRepository;
+import nahye.demo.repository.UserRepository;
+import nahye.demo.scheduler.ReservationTimers;
+import nahye.demo.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 서비스 메서드별 SQL 문장 수 고정.
+ * N+1 이나 불필요한 조회, 배치 INSERT 가 풀리는 변경이 생기면 문장 수가 달라져 빌드가 실패합니다.
+ * 내장 DB 로 바꾸지 않고 test 프로필의 H2(MySQL 모드, 운영과 같은 배치 크기)를 그대로 사용합니다.
+ * id 생성기(pooled)는 컨텍스트와 함께 테스트 사이에 공유되므로, 저장하는 테스트는 측정 전에
+ * warmIdGenerator 로 할당 직후 상태를 맞춰 측정 중 할당 횟수가 테스트 순서와 무관하게 합니다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "sejali.refresh-token.store=jpa"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RoomService.class, ReservationService.class, UserService.class, JpaRefreshTokenStore.class})
+class StatementCountTest {
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private RoomRepository roomRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ReservationRepository reservationRepository;
+
+    @Autowired private RoomService roomService;
+    @Autowired private ReservationService reservationService;
+    @Autowired private UserService userService;
+    @Autowired private JpaRefreshTokenStore refreshTokenStore;
+
+    @MockitoBean private SeatClaimStore seatClaimStore;
+    @MockitoBean private SeatAvailabilityIndex availabilityIndex;
+    @MockitoBean private ReservationTimers reservationTimers;
+    @MockitoBean private PasswordEncoder passwordEncoder;
+    @MockitoBean private JwtTokenProvider jwtTokenProvider;
+    @MockitoBean private AuthenticationManager authenticationManager;
+    @MockitoBean private AuthMetrics authMetrics;
+    @MockitoBean private ReservationMetrics reservationMetrics;
+    @MockitoBean private TokenBlacklist tokenBlacklist;
+    @MockitoBean private SessionRevocation sessionRevocation;
+    @MockitoBean private UserCache userCache;
+    @MockitoBean private RoomCache roomCache;
+
+    private StatementCounter counter;
+    private User student;
+    private Room firstRoom;
+    private Reservation firstReservation;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter(entityManager);
+
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            rooms.add(Room.builder().roomName("실습실" + i).seats(30).remainingSeats(30).roomImg("img" + i).build());
+        }
+        roomRepository.saveAll(rooms);
+        firstRoom = rooms.get(0);
+
+        for (int i = 1; i <= 5; i++) {
+            User user = userRepository.save(User.builder()
+                    .studentNum(20000 + i)
+                    .username("학생" + i)
+                    .userId("student" + i)
+                    .password("encoded")
+                    .authLevel(AuthLevel.USER)
+                    .build());
+            if (i == 1) {
+                student = user;
+            }
+        }
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int seat = 1; seat <= 3; seat++) {
+            Reservation reservation = reservationRepository.save(Reservation.builder()
+                    .seatNum(seat)
+                    .startTime(start.plusHours(seat))
+                    .endTime(start.plusHours(seat + 1))
+                    .duration(LocalTime.of(1, 0))
+                    .room(rooms.get(seat - 1))
+                    .user(student)
+                    .build());
+            if (seat == 1) {
+                firstReservation = reservation;
+            }
+        }
+
+        when(userCache.find("student1")).thenReturn(Optional.of(UserSummary.of(student)));
+        when(seatClaimStore.claim(any(), anyInt(), any(), any())).thenReturn(ClaimResult.CLAIMED);
+        when(seatClaimStore.claimAll(any(), anyList(), any(), any())).thenReturn(ClaimResult.CLAIMED);
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+    }
+
+    @Test
+    void getAllRoomsIsSingleSelect() {
+        counter.assertStatements(1, () -> assertThat(roomService.getAllRooms()).hasSize(3));
+    }
+
+    @Test
+    void roomDetailLoaderIsSingleAggregateSelect() {
+        // 캐시를 놓쳤을 때 RoomCache 가 읽는 원본 조회 (캐시 동작 자체는 NearCacheTest)
+        counter.assertStatements(1, () -> assertThat(roomRepository.findDetail(firstRoom.getId(), LocalDateTime.now()))
+                .hasValueSatisfying(detail -> assertThat(detail.getUpcomingReservations()).isEqualTo(1)));
+    }
+
+    @Test
+    void getMyReservationsIsSingleSelectRegardlessOfRooms() {
+        counter.assertStatements(1, () -> assertThat(reservationService.getMyReservations("student1")).hasSize(3));
+    }
+
+    @Test
+    void getUsersPageIsSingleSelect() {
+        counter.assertStatements(1, () -> assertThat(userService.getUsersPage(null, 2, "id").getUsers()).hasSize(2));
+    }
+
+    @Test
+    void forEachUserPageIsOneSelectPerPage() {
+        // 5명 / 페이지 2명 -> 2, 2, 1
+        counter.assertStatements(3, () -> userService.forEachUserPage(2, users -> { }));
+    }
+
+    @Test
+    void logoutIsSingleDelete() {
+        VerifiedToken accessToken = new VerifiedToken("student1", "jti", new Date(), new Date(), "USER", null);
+        counter.assertStatements(1, () -> refreshTokenStore.logout(accessToken, 60_000, "refresh-token"));
+    }
+
+    @Test
+    void revokeAllIsSingleBulkDelete() {
+        counter.assertStatements(1, () -> refreshTokenStore.revokeAll("student1"));
+    }
+
+    @Test
+    void issueRefreshTokenIsDeleteAndInsertOnly() {
+        when(jwtTokenProvider.createRefreshToken(anyString())).thenReturn("refresh-token");
+        when(jwtTokenProvider.getExpirationDateFromToken(anyString())).thenReturn(new Date());
+
+        // 이전 세션 일괄 삭제 1 + INSERT 1 (assigned id 라도 merge 의 SELECT 없음)
+        counter.assertStatements(2, () -> refreshTokenStore.issue("student1"));
+    }
+
+    @Test
+    void reserveIsRoomSelectAndInsert() {
+        warmIdGenerator("reservations", this::throwawayReservation);
+        LocalDateTime start = LocalDateTime.now().plusDays(2).withNano(0);
+
+        // 실습실 SELECT 1 + INSERT 1 (사용자는 캐시의 id 로 참조만, 좌석 점유는 SeatClaimStore)
+        counter.assertStatements(2, () -> reservationService.reserve(
+                new ReservationRequest(firstRoom.getId(), 5, start, start.plusHours(1)), "student1"));
+    }
+
+    @Test
+    void reserveBulkOfTwoHundredSeatsIsOneInsertPerChunk() {
+        Room hall = roomRepository.save(Room.builder().roomName("대강의실").seats(200).remainingSeats(200).roomImg("hall").build());
+        List<User> students = userRepository.saveAll(IntStream.rangeClosed(1, 200)
+                .mapToObj(i -> User.builder()
+                        .studentNum(30000 + i)
+                        .username("수강생" + i)
+                        .userId("class" + i)
+                        .password("encoded")
+                        .authLevel(AuthLevel.USER)
+                        .build())
+                .toList());
+        long allocationStatements = warmIdGenerator("reservations", this::throwawayReservation);
+        LocalDateTime start = LocalDateTime.now().plusDays(2).withNano(0);
+        List<Integer> studentNums = students.stream().map(User::getStudentNum).toList();
+
+        // 실습실 SELECT 1 + 학생 IN SELECT 1 + 배치 INSERT 4 (50개씩)
+        // + 할당 직후 남은 49개 이후 id 할당 4번 (할당 문장이 통계에 잡히는 만큼)
+        counter.assertStatements(6 + 4 * allocationStatements, () -> assertThat(reservationService.reserveBulk(
+                new BulkReservationRequest(hall.getId(), studentNums, 1, start, start.plusHours(2)))).hasSize(200));
+    }
+
+    @Test
+    void cancelLoadsReservationUserRoomThenDeletes() {
+        // 예약 SELECT 1 + 소유자 확인(지연 로딩) 1 + 실습실 초기화 1 + DELETE 1
+        counter.assertStatements(4, () -> reservationService.cancel(firstReservation.getId(), "student1"));
+    }
+
+    @Test
+    void createRoomIsNameCheckAndInsert() {
+        warmIdGenerator("rooms", this::throwawayRoom);
+
+        counter.assertStatements(2, () -> roomService.createRoom(new RoomRequest("새 실습실", 20, "img"), "student1"));
+    }
+
+    @Test
+    void createRoomsIsOneNameCheckAndOneBatchInsert() {
+        warmIdGenerator("rooms", this::throwawayRoom);
+        // 할당 없이 나가는 최대 개수 = 청크 하나
+        List<RoomRequest> requests = IntStream.range(0, IdGeneration.ALLOCATION_SIZE - 1)
+                .mapToObj(i -> new RoomRequest("일괄 실습실" + i, 20, "img"))
+                .toList();
+
+        // 이름 중복 IN SELECT 1 + 배치 INSERT 1
+        counter.assertStatements(2, () -> assertThat(roomService.createRooms(requests, "student1"))
+                .hasSize(IdGeneration.ALLOCATION_SIZE - 1));
+    }
+
+    @Test
+    void signupIsDuplicateCheckAndInsert() {
+        warmIdGenerator("users", this::throwawayUser);
+
+        counter.assertStatements(2, () -> userService.signup(
+                new SignRequest(20099, "신입생", "newcomer", "password", AuthLevel.USER)));
+    }
+
+    @Test
+    void updateUserWithSamePasswordIsTwoSelectsAndUpdate() {
+        when(jwtTokenProvider.getUsername("access-token")).thenReturn("student1");
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+
+        // 사용자 SELECT 1 + 학번 중복 SELECT 1 + UPDATE 1
+        counter.assertStatements(3, () -> userService.updateUser("access-token",
+                new SignRequest(20011, "새이름", "student1", "password", AuthLevel.USER)));
+    }
+
+    @Test
+    void updateUserWithNewPasswordAlsoRevokesSessionsInOneDelete() {
+        when(jwtTokenProvider.getUsername("access-token")).thenReturn("student1");
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+
+        // 위 3 + 리프레시 토큰 일괄 DELETE 1
+        counter.assertStatements(4, () -> userService.updateUser("access-token",
+                new SignRequest(20011, "새이름", "student1", "new-password", AuthLevel.USER)));
+    }
+
+    // pooled id 생성기를 새 할당 직후로 맞춤: 한 건씩 저장하다 id_generator 값이 바뀌면 멈추므로
+    // 이후 ALLOCATION_SIZE - 1 개의 id 는 할당 없이 나감.
+    // 반환값은 할당 한 번에 통계에 잡힌 문장 수 (생성기는 별도 커넥션을 쓰므로 0일 수 있음)
+    private long warmIdGenerator(String segment, IntFunction<Object> throwaway) {
+        long before = nextVal(segment);
+        for (int i = 0; i <= IdGeneration.ALLOCATION_SIZE; i++) {
+            Object entity = throwaway.apply(i);
+            long statements = counter.count(() -> entityManager.persist(entity));
+            if (nextVal(segment) != before) {
+                return statements - 1;
+            }
+        }
+        throw new IllegalStateException("id 할당이 일어나지 않았습니다: " + segment);
+    }
+
+    private long nextVal(String segment) {
+        return ((Number) entityManager
+                .createNativeQuery("select next_val from " + IdGeneration.TABLE + " where sequence_name = :segment")
+                .setParameter("segment", segment)
+                .getSingleResult()).longValue();
+    }
+
+    private Object throwawayRoom(int i) {
+        return Room.builder().roomName("warm" + i).seats(1).remainingSeats(1).roomImg("warm").build();
+    }
+
+    private Object throwawayUser(int i) {
+        return User.builder()
+                .studentNum(90000 + i)
+                .username("warm" + i)
+                .userId("warm" + i)
+                .password("encoded")
+                .authLevel(AuthLevel.USER)
+                .build();
+    }
+
+    private Object throwawayReservation(int i) {
+        LocalDateTime start = LocalDateTime.now().plusDays(30).withNano(0).plusHours(i);
+        return Reservation.builder()
+                .seatNum(1)
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .duration(LocalTime.of(1, 0))
+                .room(entityManager.getReference(Room.class, firstRoom.getId()))
+                .user(entityManager.getReference(User.class, student.getId()))
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package nahye.demo.support;
+
+import com.github.fppt.jedismock.RedisServer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 단위 테스트용 프로세스 내 Redis (jedis-mock, 부하 테스트와 같은 구성).
+ * jedis-mock 은 RESP2 만 지원하므로 HELLO 협상을 건너뜁니다.
+ */
+public class InMemoryRedis implements AutoCloseable {
+    private final RedisServer server;
+    private final LettuceConnectionFactory connectionFactory;
+    private final StringRedisTemplate template;
+
+    public InMemoryRedis() {
+        try {
+            server = RedisServer.newRedisServer().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()), clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new StringRedisTemplate(connectionFactory);
+    }
+
+    public int port() {
+        return server.getBindPort();
+    }
+
+    public LettuceConnectionFactory connectionFactory() {
+        return connectionFactory;
+    }
+
+    public StringRedisTemplate template() {
+        return template;
+    }
+
+    public void flushAll() {
+        template.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        connectionFactory.destroy();
+        try {
+            server.stop();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package nahye.demo.support;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+// InMemoryRedis(jedis-mock)는 RESP2 만 지원하므로 전체 컨텍스트 테스트에서도 HELLO 협상을 건너뜀
+@TestConfiguration
+public class Resp2RedisConfig {
+
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer resp2Customizer() {
+        return builder -> builder.clientOptions(ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP2)
+                .build());
+    }
+}
@@ -0,0 +1,35 @@
+package nahye.demo.support;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hibernate 통계로 실행된 SQL 문장 수를 세는 테스트 도우미.
+ * 1차 캐시를 비운 상태에서 시작하고, 쓰기 지연된 INSERT/UPDATE 까지 flush 해서 셉니다.
+ */
+public class StatementCounter {
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public long count(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void assertStatements(long expected, Runnable action) {
+        assertThat(count(action)).as("실행된 SQL 문장 수").isEqualTo(expected);
+    }
+}